@@ -0,0 +1,113 @@
+import com.example.cuisinefarming.fertility.ChunkFertilityData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Heap footprint comparison: ChunkFertilityData (primitive open addressing)
+ * vs. the previous HashMap<Integer, Entry> layout.
+ *
+ * Run from the project root:
+ *   javac -d target/scripts src/main/java/com/example/cuisinefarming/fertility/ChunkFertilityData.java scripts/FertilityFootprint.java
+ *   java -Xmx2g -cp target/scripts FertilityFootprint 300000
+ */
+public class FertilityFootprint {
+
+    // --- Previous layout (kept here only for comparison) ---
+    static class LegacyEntry {
+        int baseFertility;
+        long lastUpdateTime;
+        double fertilizerConcentration;
+
+        LegacyEntry(int baseFertility, long lastUpdateTime, double fertilizerConcentration) {
+            this.baseFertility = baseFertility;
+            this.lastUpdateTime = lastUpdateTime;
+            this.fertilizerConcentration = fertilizerConcentration;
+        }
+    }
+
+    static class LegacyChunkData {
+        final Map<Integer, LegacyEntry> dataMap = new HashMap<>();
+
+        void setBaseData(int x, int y, int z, int base, long time) {
+            int key = ((x & 0xFF) << 24) | ((y & 0xFFFF) << 8) | (z & 0xFF);
+            LegacyEntry e = dataMap.get(key);
+            if (e != null) {
+                e.baseFertility = base;
+                e.lastUpdateTime = time;
+            } else {
+                dataMap.put(key, new LegacyEntry(base, time, 0.0));
+            }
+        }
+    }
+
+    // A chunk of farmland is at most 16x16 per layer; fill whole layers like a mega-farm does.
+    private static final int TILES_PER_CHUNK = 256;
+
+    public static void main(String[] args) {
+        int tiles = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int chunks = (tiles + TILES_PER_CHUNK - 1) / TILES_PER_CHUNK;
+
+        long legacy = measure(() -> {
+            List<LegacyChunkData> list = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                LegacyChunkData data = new LegacyChunkData();
+                fill(c, tiles, (x, y, z, f, t) -> data.setBaseData(x, y, z, f, t));
+                list.add(data);
+            }
+            return list;
+        });
+
+        long primitive = measure(() -> {
+            List<ChunkFertilityData> list = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                ChunkFertilityData data = new ChunkFertilityData();
+                fill(c, tiles, data::setBaseData);
+                list.add(data);
+            }
+            return list;
+        });
+
+        System.out.printf(Locale.ROOT, "tiles=%d chunks=%d%n", tiles, chunks);
+        System.out.printf(Locale.ROOT, "HashMap<Integer, Entry> : %8.2f MB  (%5.1f B/tile)%n", legacy / 1048576.0, (double) legacy / tiles);
+        System.out.printf(Locale.ROOT, "ChunkFertilityData      : %8.2f MB  (%5.1f B/tile)%n", primitive / 1048576.0, (double) primitive / tiles);
+    }
+
+    interface Setter {
+        void set(int x, int y, int z, int fertility, long time);
+    }
+
+    private static void fill(int chunk, int tiles, Setter setter) {
+        long now = System.currentTimeMillis();
+        int start = chunk * TILES_PER_CHUNK;
+        int end = Math.min(tiles, start + TILES_PER_CHUNK);
+        for (int i = start; i < end; i++) {
+            int local = i - start;
+            setter.set(local & 15, 64, local >> 4, 50, now);
+        }
+    }
+
+    private static long measure(java.util.function.Supplier<Object> builder) {
+        long before = usedAfterGc();
+        Object retained = builder.get();
+        long after = usedAfterGc();
+        // Keep the structure reachable until the second measurement.
+        if (retained.hashCode() == 42) System.out.print("");
+        return after - before;
+    }
+
+    private static long usedAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,144 @@
+import com.example.cuisinefarming.fertility.ChunkFertilityData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Size and speed comparison of the v2 and v3 chunk fertility formats,
+ * plus a round-trip check (v2 -> load -> v3 -> load). "unload us" is the uncompressed v3
+ * form written synchronously when a chunk unloads.
+ *
+ * Run from the project root:
+ *   javac -d target/scripts src/main/java/com/example/cuisinefarming/fertility/ChunkFertilityData.java scripts/FertilityFormatBenchmark.java
+ *   java -cp target/scripts FertilityFormatBenchmark
+ */
+public class FertilityFormatBenchmark {
+
+    private static final int ITERATIONS = 10000;
+
+    public static void main(String[] args) throws IOException {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42L;
+        System.out.printf(Locale.ROOT, "%-22s %6s %9s %9s %7s %11s %11s %11s %11s%n",
+                "scenario", "tiles", "v2 bytes", "v3 bytes", "ratio", "v2 ser us", "v3 ser us", "v3 load us", "unload us");
+
+        run("single plot 9x9", build(seed, 81, 1, false));
+        run("full layer", build(seed, 256, 1, false));
+        run("full layer, fertilized", build(seed, 256, 1, true));
+        run("4 layers, fertilized", build(seed, 1024, 4, true));
+        run("scattered 40", buildScattered(seed, 40));
+    }
+
+    private static void run(String name, ChunkFertilityData data) throws IOException {
+        byte[] v2 = writeV2(data);
+        ChunkFertilityData fromV2 = ChunkFertilityData.deserialize(v2);
+        byte[] v3 = fromV2.serialize();
+        ChunkFertilityData fromV3 = ChunkFertilityData.deserialize(v3);
+        verify(name, data, fromV3);
+        verify(name + " (unload)", data, ChunkFertilityData.deserialize(data.serializeUncompressed()));
+
+        double v2Ser = time(() -> writeV2Unchecked(data));
+        double v3Ser = time(data::serialize);
+        double v3Load = time(() -> ChunkFertilityData.deserialize(v3));
+        double unloadSer = time(data::serializeUncompressed);
+
+        System.out.printf(Locale.ROOT, "%-22s %6d %9d %9d %6.1f%% %11.2f %11.2f %11.2f %11.2f%n",
+                name, data.size(), v2.length, v3.length, 100.0 * v3.length / v2.length, v2Ser, v3Ser, v3Load, unloadSer);
+    }
+
+    // --- Data sets ---
+
+    private static ChunkFertilityData build(long seed, int tiles, int layers, boolean fertilized) {
+        Random random = new Random(seed);
+        ChunkFertilityData data = new ChunkFertilityData();
+        long now = System.currentTimeMillis();
+        int perLayer = Math.max(1, tiles / layers);
+        int side = (int) Math.ceil(Math.sqrt(perLayer));
+        int placed = 0;
+        for (int layer = 0; layer < layers && placed < tiles; layer++) {
+            int y = 64 + layer * 4;
+            for (int i = 0; i < perLayer && placed < tiles; i++, placed++) {
+                int x = i % side;
+                int z = i / side;
+                // Harvests happen in waves, so timestamps cluster within a few minutes.
+                long time = now - random.nextInt(300_000);
+                data.setBaseData(x, y, z, random.nextInt(60) - 10, time);
+                if (fertilized && random.nextInt(3) > 0) {
+                    data.setFertilizerData(x, y, z, random.nextDouble() * 180.0, time);
+                }
+            }
+        }
+        return data;
+    }
+
+    private static ChunkFertilityData buildScattered(long seed, int tiles) {
+        Random random = new Random(seed);
+        ChunkFertilityData data = new ChunkFertilityData();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < tiles; i++) {
+            data.setBaseData(random.nextInt(16), -60 + random.nextInt(380), random.nextInt(16),
+                    random.nextInt(201) - 100, now - random.nextInt(86_400_000));
+        }
+        return data;
+    }
+
+    // --- v2 writer (the format before v3) ---
+
+    private static byte[] writeV2(ChunkFertilityData data) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        dos.writeInt(2);
+        dos.writeInt(data.size());
+        for (int slot = 0; slot < data.capacity(); slot++) {
+            if (!data.isOccupied(slot)) continue;
+            dos.writeInt(data.getKey(slot));
+            dos.writeByte(data.getBaseFertility(slot));
+            dos.writeLong(data.getLastUpdateTime(slot));
+            dos.writeDouble(data.getConcentration(slot));
+        }
+        return baos.toByteArray();
+    }
+
+    private static byte[] writeV2Unchecked(ChunkFertilityData data) {
+        try {
+            return writeV2(data);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // --- Checks and timing ---
+
+    private static void verify(String name, ChunkFertilityData expected, ChunkFertilityData actual) {
+        if (expected.size() != actual.size()) {
+            throw new AssertionError(name + ": size " + actual.size() + " != " + expected.size());
+        }
+        for (int slot = 0; slot < expected.capacity(); slot++) {
+            if (!expected.isOccupied(slot)) continue;
+            int key = expected.getKey(slot);
+            int other = actual.indexOf(ChunkFertilityData.unpackX(key), ChunkFertilityData.unpackY(key), ChunkFertilityData.unpackZ(key));
+            if (other < 0
+                    || (byte) expected.getBaseFertility(slot) != (byte) actual.getBaseFertility(other)
+                    || expected.getLastUpdateTime(slot) != actual.getLastUpdateTime(other)
+                    || Math.abs(expected.getConcentration(slot) - actual.getConcentration(other)) > 0.005) {
+                throw new AssertionError(name + ": mismatch at key " + Integer.toHexString(key));
+            }
+        }
+    }
+
+    private static double time(java.util.function.Supplier<Object> op) {
+        int sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += op.get().hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += op.get().hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) System.out.print("");
+        return elapsed / 1000.0 / ITERATIONS;
+    }
+}
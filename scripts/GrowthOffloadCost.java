@@ -0,0 +1,196 @@
+import com.example.cuisinefarming.fertility.ChunkFertilityData;
+import com.example.cuisinefarming.fertility.FertilityModel;
+import com.example.cuisinefarming.growth.GrowthSampling;
+import com.example.cuisinefarming.util.LongObjectMap;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Main-thread cost of moving the interval engine's per-crop arithmetic to worker threads.
+ *
+ * Both paths pay the same Bukkit reads (block data, growth points), so only the part that
+ * differs is timed, per crop and pass:
+ *   uncached: slot lookup, recovery/decay, external bonus lookups, gene terms, stage/pollen roll
+ *   cached:   as the interval engine runs it: an EfficiencyCache hit (TTL 2 s = 8 passes, so an
+ *             eighth of the crops recompute per pass) plus the uncached gene concentration
+ *   offload:  slot lookup and external bonus lookups, copying the inputs into a fresh per-chunk
+ *             batch for a worker, reading the stages and pollen results back to apply them.
+ *             The batch needs the raw inputs, so the efficiency cache can't serve it.
+ * The offload path only saves main-thread time if its column is clearly below the cached one,
+ * by more than it adds outside this script: without the cache, the Bukkit reads a cache miss
+ * makes (soil and crop BlockData, the hook lookups' Location, the world clock) happen for
+ * every crop on every pass instead of once per TTL.
+ *
+ * Run from the project root:
+ *   javac -d target/scripts src/main/java/com/example/cuisinefarming/fertility/ChunkFertilityData.java \
+ *       src/main/java/com/example/cuisinefarming/fertility/FertilityModel.java \
+ *       src/main/java/com/example/cuisinefarming/growth/GrowthSampling.java \
+ *       src/main/java/com/example/cuisinefarming/util/LongObjectMap.java scripts/GrowthOffloadCost.java
+ *   java -cp target/scripts GrowthOffloadCost
+ */
+public class GrowthOffloadCost {
+
+    private static final int CROPS_PER_CHUNK = 256;
+    private static final int CHUNKS = 64;
+    private static final int ROUNDS = 2000;
+    private static final double BASE_CHANCE = 3.0 / 4096.0 * 5.0;
+    private static final int CACHE_PASSES = 8;
+
+    /** Stand-in for an EfficiencyCache entry. */
+    private static final class Entry {
+        double efficiency;
+        int expiresAt;
+    }
+
+    /** Stand-in for ExternalBonusCache: one biome cell and one chunk lookup per crop. */
+    private static final LongObjectMap<double[]> biomeBonus = new LongObjectMap<>();
+    private static final LongObjectMap<double[]> spiritBonus = new LongObjectMap<>();
+    private static final LongObjectMap<Entry> efficiencyCache = new LongObjectMap<>();
+    private static int pass;
+
+    private static final Random random = new Random(42L);
+    private static long sink;
+
+    public static void main(String[] args) {
+        ChunkFertilityData[] chunks = new ChunkFertilityData[CHUNKS];
+        int[][] keys = new int[CHUNKS][CROPS_PER_CHUNK];
+        long now = System.currentTimeMillis();
+        for (int c = 0; c < CHUNKS; c++) {
+            chunks[c] = new ChunkFertilityData();
+            for (int i = 0; i < CROPS_PER_CHUNK; i++) {
+                int x = i & 15, z = i >> 4;
+                chunks[c].setBaseData(x, 64, z, random.nextInt(120) - 20, now - random.nextInt(600_000));
+                if (random.nextInt(3) == 0) chunks[c].setFertilizerData(x, 64, z, random.nextDouble() * 180.0, now - random.nextInt(600_000));
+                keys[c][i] = i;
+            }
+        }
+        for (int c = 0; c < CHUNKS; c++) {
+            biomeBonus.put(c, new double[]{random.nextDouble() * 0.3});
+            spiritBonus.put(c, new double[]{random.nextDouble() * 0.2});
+            for (int i = 0; i < CROPS_PER_CHUNK; i++) {
+                Entry entry = new Entry();
+                entry.expiresAt = i % CACHE_PASSES;
+                efficiencyCache.put(blockKey(c, i), entry);
+            }
+        }
+        float[] points = new float[CROPS_PER_CHUNK];
+        for (int i = 0; i < CROPS_PER_CHUNK; i++) {
+            points[i] = 2.0f + random.nextInt(8);
+        }
+
+        // Warm up all paths, then measure them interleaved.
+        for (int r = 0; r < ROUNDS / 4; r++) {
+            uncached(chunks, keys, points, now);
+            cached(chunks, keys, points, now);
+            offload(chunks, keys, points, now);
+        }
+        long uncachedNanos = 0, cachedNanos = 0, offloadNanos = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            long t0 = System.nanoTime();
+            uncached(chunks, keys, points, now);
+            long t1 = System.nanoTime();
+            cached(chunks, keys, points, now);
+            long t2 = System.nanoTime();
+            offload(chunks, keys, points, now);
+            long t3 = System.nanoTime();
+            uncachedNanos += t1 - t0;
+            cachedNanos += t2 - t1;
+            offloadNanos += t3 - t2;
+        }
+        double crops = (double) ROUNDS * CHUNKS * CROPS_PER_CHUNK;
+        System.out.printf(Locale.ROOT, "%-10s %12s%n", "path", "ns / crop");
+        System.out.printf(Locale.ROOT, "%-10s %12.1f%n", "uncached", uncachedNanos / crops);
+        System.out.printf(Locale.ROOT, "%-10s %12.1f%n", "cached", cachedNanos / crops);
+        System.out.printf(Locale.ROOT, "%-10s %12.1f%n", "offload", offloadNanos / crops);
+        if (sink == 42) System.out.print("");
+    }
+
+    private static void uncached(ChunkFertilityData[] chunks, int[][] keys, float[] points, long now) {
+        for (int c = 0; c < chunks.length; c++) {
+            ChunkFertilityData data = chunks[c];
+            for (int i = 0; i < CROPS_PER_CHUNK; i++) {
+                int slot = slot(data, keys[c][i]);
+                double efficiency = efficiency(data, slot, c, now);
+                sink += roll(efficiency, concentration(data, slot, now), points[i]);
+            }
+        }
+    }
+
+    private static void cached(ChunkFertilityData[] chunks, int[][] keys, float[] points, long now) {
+        pass++;
+        for (int c = 0; c < chunks.length; c++) {
+            ChunkFertilityData data = chunks[c];
+            for (int i = 0; i < CROPS_PER_CHUNK; i++) {
+                Entry entry = efficiencyCache.get(blockKey(c, i));
+                int slot = slot(data, keys[c][i]);
+                if (entry.expiresAt <= pass) {
+                    entry.efficiency = efficiency(data, slot, c, now);
+                    entry.expiresAt = pass + CACHE_PASSES;
+                }
+                // Gene tolerance needs the live concentration; it is not part of the cached breakdown.
+                sink += roll(entry.efficiency, concentration(data, slot, now), points[i]);
+            }
+        }
+    }
+
+    private static void offload(ChunkFertilityData[] chunks, int[][] keys, float[] points, long now) {
+        for (int c = 0; c < chunks.length; c++) {
+            ChunkFertilityData data = chunks[c];
+            // Capture: a fresh batch per chunk, as the batch is handed to another thread.
+            int[] packed = new int[CROPS_PER_CHUNK];
+            int[] fertility = new int[CROPS_PER_CHUNK];
+            double[] concentration = new double[CROPS_PER_CHUNK];
+            long[] lastUpdate = new long[CROPS_PER_CHUNK];
+            boolean[] wet = new boolean[CROPS_PER_CHUNK];
+            double[] external = new double[CROPS_PER_CHUNK];
+            float[] growthPoints = new float[CROPS_PER_CHUNK];
+            int[] stages = new int[CROPS_PER_CHUNK];
+            boolean[] pollen = new boolean[CROPS_PER_CHUNK];
+            for (int i = 0; i < CROPS_PER_CHUNK; i++) {
+                int slot = slot(data, keys[c][i]);
+                packed[i] = keys[c][i];
+                fertility[i] = data.getBaseFertility(slot);
+                concentration[i] = data.getConcentration(slot);
+                lastUpdate[i] = data.getLastUpdateTime(slot);
+                wet[i] = true;
+                external[i] = biomeBonus.get(c)[0] + spiritBonus.get(c)[0];
+                growthPoints[i] = points[i];
+            }
+            // Apply: read the worker's results back (the worker itself is not timed).
+            for (int i = 0; i < CROPS_PER_CHUNK; i++) {
+                if (stages[i] > 0 || pollen[i]) sink += packed[i];
+            }
+            sink += fertility[0] + (long) concentration[0] + lastUpdate[0] + (wet[0] ? 1 : 0) + (long) external[0] + (long) growthPoints[0];
+        }
+    }
+
+    private static int slot(ChunkFertilityData data, int key) {
+        return data.indexOf(key & 15, 64, key >> 4);
+    }
+
+    private static long blockKey(int chunk, int crop) {
+        return ((long) chunk << 32) | crop;
+    }
+
+    private static double efficiency(ChunkFertilityData data, int slot, int chunk, long now) {
+        int fertility = FertilityModel.recover(data.getBaseFertility(slot), data.getConcentration(slot), data.getLastUpdateTime(slot), true, now);
+        double external = biomeBonus.get(chunk)[0] + spiritBonus.get(chunk)[0];
+        return 1.0 + Math.min(100, Math.max(-100, fertility)) * 0.005 + external;
+    }
+
+    private static double concentration(ChunkFertilityData data, int slot, long now) {
+        return FertilityModel.decayedConcentration(data.getConcentration(slot), data.getLastUpdateTime(slot), true, now);
+    }
+
+    private static int roll(double efficiency, double concentration, float points) {
+        // Gene terms of a typical hybrid: tolerance R = 80, +0.3 speed, -0.05 temperature.
+        efficiency += 0.01 * concentration * (1.0 - concentration / 160.0) + 0.3 - 0.05;
+        double chance = 0.0;
+        if (efficiency > 1.0) {
+            chance = (efficiency - 1.0) * BASE_CHANCE / (Math.floor(25.0 / points) + 1);
+        }
+        int stages = GrowthSampling.stagesForPass(chance, random);
+        return random.nextDouble() < 0.3 ? stages + 1 : stages;
+    }
+}
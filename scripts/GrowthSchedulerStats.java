@@ -0,0 +1,215 @@
+import com.example.cuisinefarming.growth.GrowthSampling;
+import com.example.cuisinefarming.growth.TimingWheel;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Statistical equivalence check: interval engine (roll extraChance every 5-tick pass) vs. the
+ * scheduled engine (geometric draws on a TimingWheel, with refresh horizon and random
+ * invalidations). For each chance p it compares per-crop growth totals (mean via z-score,
+ * variance ratio) and, for p < 1, the gap distribution between growths (chi-square against the
+ * geometric pmf). Also reports crop visits per engine.
+ *
+ * The slot rules mirror ScheduledGrowthEngine.expire (which needs a server to run): a REDRAW
+ * slot is an open trial, a GROW slot a known success, invalidations redraw at the next slot.
+ *
+ * Run from the project root:
+ *   javac -d target/scripts src/main/java/com/example/cuisinefarming/growth/TimingWheel.java \
+ *       src/main/java/com/example/cuisinefarming/growth/GrowthSampling.java scripts/GrowthSchedulerStats.java
+ *   java -cp target/scripts GrowthSchedulerStats
+ *
+ * Exits with status 1 if any check fails.
+ */
+public class GrowthSchedulerStats {
+
+    private static final int PASS = 5;
+    private static final int CROPS = 2000;
+    private static final int PASSES = 20000;
+    private static final long REFRESH_PASSES = 120; // growth.refresh-seconds: 30
+    private static final double INVALIDATE_PER_TICK = 1.0 / 400; // soil change every ~20 s
+    private static final double[] CHANCES = {0.001, 0.02, 0.2, 0.75, 1.0, 1.6, 2.3};
+
+    private static final int REDRAW = 0;
+    private static final int GROW = 1;
+    private static final int INVALIDATE = 2;
+    private static final int GAP_BINS = 16;
+
+    /** Critical values at alpha = 0.001. */
+    private static final double Z_LIMIT = 3.29;
+    private static final double CHI2_LIMIT_15 = 37.70;
+    private static final double VAR_RATIO_TOLERANCE = 0.2;
+
+    private static final class Crop {
+        final int phase;
+        int generation;
+        long due;
+        long stages;
+        long lastGrowthSlot = -1;
+
+        Crop(int phase) {
+            this.phase = phase;
+        }
+    }
+
+    private static Random random;
+    private static TimingWheel<Crop> wheel;
+    private static double chance;
+    private static long visits;
+    private static long[] gaps;
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42L;
+        random = new Random(seed);
+        boolean ok = true;
+
+        System.out.printf(Locale.ROOT, "%d crops x %d passes, refresh %d passes, invalidation 1/%.0f ticks%n%n",
+                CROPS, PASSES, REFRESH_PASSES, 1 / INVALIDATE_PER_TICK);
+        System.out.printf(Locale.ROOT, "%7s %12s %12s %7s %9s %9s %12s %12s%n",
+                "p", "mean/int", "mean/sched", "z", "var ratio", "gap chi2", "visits/int", "visits/sched");
+
+        for (double p : CHANCES) {
+            double[] interval = new double[CROPS];
+            for (int c = 0; c < CROPS; c++) {
+                long stages = 0;
+                for (int pass = 0; pass < PASSES; pass++) {
+                    stages += GrowthSampling.stagesForPass(p, random);
+                }
+                interval[c] = stages;
+            }
+
+            double[] scheduled = simulateScheduled(p);
+
+            double meanI = mean(interval);
+            double meanS = mean(scheduled);
+            double varI = variance(interval, meanI);
+            double varS = variance(scheduled, meanS);
+            double se = Math.sqrt((varI + varS) / CROPS);
+            double z = se > 0 ? (meanS - meanI) / se : (meanS == meanI ? 0 : Double.POSITIVE_INFINITY);
+            double ratio = varI > 0 ? varS / varI : (varS == 0 ? 1 : Double.POSITIVE_INFINITY);
+            double chi2 = p < 1.0 ? gapChiSquare(p) : Double.NaN;
+
+            boolean pass = Math.abs(z) < Z_LIMIT
+                    && Math.abs(ratio - 1) < VAR_RATIO_TOLERANCE
+                    && (Double.isNaN(chi2) || chi2 < CHI2_LIMIT_15);
+            ok &= pass;
+
+            System.out.printf(Locale.ROOT, "%7.3f %12.2f %12.2f %7.2f %9.3f %9s %12d %12d  %s%n",
+                    p, meanI, meanS, z, ratio, Double.isNaN(chi2) ? "-" : String.format(Locale.ROOT, "%.1f", chi2),
+                    (long) CROPS * PASSES, visits, pass ? "ok" : "FAIL");
+        }
+
+        System.out.println();
+        System.out.println(ok ? "PASS" : "FAIL");
+        if (!ok) System.exit(1);
+    }
+
+    private static double[] simulateScheduled(double p) {
+        chance = p;
+        visits = 0;
+        gaps = new long[GAP_BINS];
+        wheel = new TimingWheel<>(0L);
+        Crop[] crops = new Crop[CROPS];
+        for (int c = 0; c < CROPS; c++) {
+            Crop crop = new Crop(random.nextInt(PASS));
+            crops[c] = crop;
+            schedule(crop, REDRAW, nextSlot(crop, 0));
+            scheduleInvalidation(crop, 0);
+        }
+
+        // Each crop owns exactly PASSES slots in (0, PASSES * PASS].
+        wheel.advance((long) PASSES * PASS, GrowthSchedulerStats::expire);
+
+        double[] totals = new double[CROPS];
+        for (int c = 0; c < CROPS; c++) {
+            totals[c] = crops[c].stages;
+        }
+        return totals;
+    }
+
+    private static void expire(Crop crop, int tag, long now) {
+        int kind = tag & 3;
+        if (kind == INVALIDATE) {
+            if (crop.due != now) schedule(crop, REDRAW, nextSlot(crop, now));
+            scheduleInvalidation(crop, now);
+            return;
+        }
+        if ((tag >>> 2) != (crop.generation & (-1 >>> 2))) return;
+        visits++;
+
+        if (kind == REDRAW) {
+            long passes = GrowthSampling.passesUntilNext(chance, random);
+            if (passes > 1) {
+                scheduleAt(crop, now, passes - 1);
+                return;
+            }
+        }
+        if (chance > 0) {
+            crop.stages += chance < 1.0 ? 1 : GrowthSampling.stagesForPass(chance, random);
+            long slot = now / PASS;
+            if (crop.lastGrowthSlot >= 0) {
+                gaps[(int) Math.min(GAP_BINS - 1, slot - crop.lastGrowthSlot - 1)]++;
+            }
+            crop.lastGrowthSlot = slot;
+        }
+        scheduleAt(crop, now + PASS, GrowthSampling.passesUntilNext(chance, random) - 1);
+    }
+
+    private static void scheduleAt(Crop crop, long firstSlot, long offset) {
+        if (offset >= REFRESH_PASSES) {
+            schedule(crop, REDRAW, firstSlot + REFRESH_PASSES * PASS);
+        } else {
+            schedule(crop, GROW, firstSlot + offset * PASS);
+        }
+    }
+
+    private static void schedule(Crop crop, int kind, long due) {
+        crop.generation++;
+        crop.due = due;
+        wheel.schedule(crop, tag(crop, kind), due);
+    }
+
+    private static void scheduleInvalidation(Crop crop, long now) {
+        long ticks = GrowthSampling.passesUntilNext(INVALIDATE_PER_TICK, random);
+        wheel.schedule(crop, INVALIDATE, now + ticks);
+    }
+
+    private static long nextSlot(Crop crop, long now) {
+        long slot = now + 1;
+        return slot + Math.floorMod(crop.phase - slot, (long) PASS);
+    }
+
+    private static int tag(Crop crop, int kind) {
+        return (crop.generation << 2) | kind;
+    }
+
+    /** Gaps between growths, in passes, against Geometric(p) (last bin is the tail). */
+    private static double gapChiSquare(double p) {
+        long total = 0;
+        for (long g : gaps) total += g;
+        if (total == 0) return 0;
+        double chi2 = 0;
+        double tail = 1.0;
+        for (int k = 0; k < GAP_BINS; k++) {
+            double expectedP = k < GAP_BINS - 1 ? Math.pow(1 - p, k) * p : tail;
+            tail -= expectedP;
+            double expected = expectedP * total;
+            if (expected < 1e-9) continue;
+            double d = gaps[k] - expected;
+            chi2 += d * d / expected;
+        }
+        return chi2;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double v : values) sum += v;
+        return sum / values.length;
+    }
+
+    private static double variance(double[] values, double mean) {
+        double sum = 0;
+        for (double v : values) sum += (v - mean) * (v - mean);
+        return sum / (values.length - 1);
+    }
+}
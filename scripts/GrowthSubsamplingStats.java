@@ -0,0 +1,137 @@
+import com.example.cuisinefarming.growth.GrowthSampling;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Statistical check of growth.samples-per-chunk: a full pass (every crop rolls its chance p)
+ * vs. a sampled pass (k uniform draws with replacement per chunk, each rolling p * N / k), as
+ * FarmingListener.tickChunkSampled does it.
+ *
+ * For each (p, k) it compares per-crop growth totals (mean via z-score) and reports the
+ * per-crop, per-pass variance of both modes next to the theoretical values:
+ *   full:    Var = r (1 - r)                       with r = frac(p)
+ *   sampled: Var = (k / N) E[X^2] - p^2 / k        with X = stagesForPass(p N / k)
+ * plus the mean stages per growth event, which shows how sampling turns many single-stage
+ * growths into fewer, larger ones. The sampled variance must match its theory.
+ *
+ * Run from the project root:
+ *   javac -d target/scripts src/main/java/com/example/cuisinefarming/growth/GrowthSampling.java \
+ *       scripts/GrowthSubsamplingStats.java
+ *   java -cp target/scripts GrowthSubsamplingStats
+ *
+ * Exits with status 1 if any check fails.
+ */
+public class GrowthSubsamplingStats {
+
+    private static final int CHUNKS = 8;
+    private static final int CROPS_PER_CHUNK = 256;
+    private static final int PASSES = 20000;
+    private static final double[] CHANCES = {0.002, 0.05, 0.3};
+    private static final int[] SAMPLES = {3, 16, 64};
+
+    /** Critical value at alpha = 0.001. */
+    private static final double Z_LIMIT = 3.29;
+    private static final double VAR_RATIO_TOLERANCE = 0.15;
+
+    private static Random random;
+    private static long events;
+    private static long stagesTotal;
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42L;
+        random = new Random(seed);
+        boolean ok = true;
+
+        System.out.printf(Locale.ROOT, "%d chunks x %d crops x %d passes%n%n", CHUNKS, CROPS_PER_CHUNK, PASSES);
+        System.out.printf(Locale.ROOT, "%7s %4s %10s %10s %7s %10s %10s %10s %10s %9s %9s %10s%n",
+                "p", "k", "mean/full", "mean/samp", "z", "var/full", "theory", "var/samp", "theory",
+                "ratio", "stg/evt", "visits/pass");
+
+        for (double p : CHANCES) {
+            events = 0;
+            stagesTotal = 0;
+            double[] full = simulateFull(p);
+            double eventsFull = events == 0 ? 0 : (double) stagesTotal / events;
+            double meanF = mean(full);
+            double varF = variance(full, meanF) / PASSES;
+            double r = p - Math.floor(p);
+
+            for (int k : SAMPLES) {
+                events = 0;
+                stagesTotal = 0;
+                double[] sampled = simulateSampled(p, k);
+                double meanS = mean(sampled);
+                double varS = variance(sampled, meanS) / PASSES;
+                double theory = sampledVariance(p, k, CROPS_PER_CHUNK);
+
+                double se = Math.sqrt((varF + varS) * PASSES / full.length);
+                double z = se > 0 ? (meanS - meanF) / se : 0;
+                double ratio = theory > 0 ? varS / theory : 1;
+                boolean pass = Math.abs(z) < Z_LIMIT && Math.abs(ratio - 1) < VAR_RATIO_TOLERANCE;
+                ok &= pass;
+
+                System.out.printf(Locale.ROOT, "%7.3f %4d %10.2f %10.2f %7.2f %10.5f %10.5f %10.5f %10.5f %9.3f %4.2f/%4.2f %10d  %s%n",
+                        p, k, meanF, meanS, z, varF, r * (1 - r), varS, theory, ratio,
+                        eventsFull, events == 0 ? 0 : (double) stagesTotal / events,
+                        (long) k * CHUNKS, pass ? "ok" : "FAIL");
+            }
+        }
+
+        System.out.println();
+        System.out.println(ok ? "PASS" : "FAIL");
+        if (!ok) System.exit(1);
+    }
+
+    private static double[] simulateFull(double p) {
+        double[] totals = new double[CHUNKS * CROPS_PER_CHUNK];
+        for (int pass = 0; pass < PASSES; pass++) {
+            for (int c = 0; c < totals.length; c++) {
+                grow(totals, c, GrowthSampling.stagesForPass(p, random));
+            }
+        }
+        return totals;
+    }
+
+    private static double[] simulateSampled(double p, int k) {
+        double[] totals = new double[CHUNKS * CROPS_PER_CHUNK];
+        double weighted = p * CROPS_PER_CHUNK / k;
+        for (int pass = 0; pass < PASSES; pass++) {
+            for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                int base = chunk * CROPS_PER_CHUNK;
+                for (int s = 0; s < k; s++) {
+                    grow(totals, base + random.nextInt(CROPS_PER_CHUNK), GrowthSampling.stagesForPass(weighted, random));
+                }
+            }
+        }
+        return totals;
+    }
+
+    private static void grow(double[] totals, int crop, int stages) {
+        if (stages == 0) return;
+        totals[crop] += stages;
+        events++;
+        stagesTotal += stages;
+    }
+
+    /** Per-crop, per-pass variance of a sampled pass. */
+    private static double sampledVariance(double p, int k, int n) {
+        double q = p * n / k;
+        double f = Math.floor(q);
+        double r = q - f;
+        double secondMoment = f * f + 2 * f * r + r;
+        return (double) k / n * secondMoment - p * p / k;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double v : values) sum += v;
+        return sum / values.length;
+    }
+
+    private static double variance(double[] values, double mean) {
+        double sum = 0;
+        for (double v : values) sum += (v - mean) * (v - mean);
+        return sum / (values.length - 1);
+    }
+}
@@ -0,0 +1,137 @@
+import com.example.cuisinefarming.fertility.ChunkFertilityData;
+import com.example.cuisinefarming.fertility.FertilityModel;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Whole-chunk fertility settle: FertilityModel.settle (one pass over the slot arrays,
+ * table exp) vs. the per-block path (indexOf per tile + Math.exp), plus an accuracy check
+ * of the lookup table against Math.exp.
+ *
+ * Run from the project root:
+ *   javac -d target/scripts src/main/java/com/example/cuisinefarming/fertility/ChunkFertilityData.java \
+ *       src/main/java/com/example/cuisinefarming/fertility/FertilityModel.java scripts/RecoveryBenchmark.java
+ *   java -cp target/scripts RecoveryBenchmark
+ */
+public class RecoveryBenchmark {
+
+    private static final int CHUNKS = 256;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42L;
+        Random random = new Random(seed);
+        long now = System.currentTimeMillis();
+
+        ChunkFertilityData[] chunks = new ChunkFertilityData[CHUNKS];
+        boolean[][] wet = new boolean[CHUNKS][];
+        int tiles = 0;
+        for (int c = 0; c < CHUNKS; c++) {
+            ChunkFertilityData data = new ChunkFertilityData();
+            for (int i = 0; i < 256; i++) {
+                int x = i & 15, z = i >> 4;
+                long time = now - random.nextInt(1_800_000);
+                data.setBaseData(x, 64, z, random.nextInt(201) - 100, time);
+                if (random.nextInt(3) == 0) data.setFertilizerData(x, 64, z, random.nextDouble() * 260.0, time);
+            }
+            chunks[c] = data;
+            wet[c] = new boolean[data.capacity()];
+            for (int slot = 0; slot < data.capacity(); slot++) wet[c][slot] = random.nextInt(10) > 0;
+            tiles += data.size();
+        }
+
+        // Accuracy: table exp vs Math.exp on the same inputs.
+        int mismatches = 0;
+        double maxExpError = 0;
+        for (int c = 0; c < CHUNKS; c++) {
+            ChunkFertilityData data = chunks[c];
+            int[] fert = new int[data.capacity()];
+            double[] conc = new double[data.capacity()];
+            FertilityModel.settle(data, wet[c], now, fert, conc);
+            for (int slot = 0; slot < data.capacity(); slot++) {
+                if (!data.isOccupied(slot)) continue;
+                if (fert[slot] != legacyRecover(data, slot, wet[c][slot], now)) mismatches++;
+            }
+        }
+        for (double x = 0; x < 32; x += 0.0007) {
+            maxExpError = Math.max(maxExpError, Math.abs(FertilityModel.expNeg(x) - Math.exp(-x)) / Math.max(Math.exp(-x), 1e-300));
+        }
+        System.out.printf(Locale.ROOT, "tiles=%d, settle vs Math.exp: %d integer mismatches, max relative exp error %.2e (x < 32)%n",
+                tiles, mismatches, maxExpError);
+
+        long sink = 0;
+        // Warm up both paths.
+        for (int r = 0; r < ROUNDS; r++) {
+            sink += perBlock(chunks, wet, now) + bulk(chunks, wet, now);
+        }
+
+        long start = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += perBlock(chunks, wet, now);
+        double perBlockNs = (System.nanoTime() - start) / (double) ROUNDS / tiles;
+
+        start = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) sink += bulk(chunks, wet, now);
+        double bulkNs = (System.nanoTime() - start) / (double) ROUNDS / tiles;
+
+        if (sink == 42) System.out.print("");
+        System.out.printf(Locale.ROOT, "per-block (indexOf + Math.exp): %6.1f ns/tile%n", perBlockNs);
+        System.out.printf(Locale.ROOT, "FertilityModel.settle         : %6.1f ns/tile  (%.1fx)%n", bulkNs, perBlockNs / bulkNs);
+    }
+
+    private static long perBlock(ChunkFertilityData[] chunks, boolean[][] wet, long now) {
+        long sum = 0;
+        for (int c = 0; c < chunks.length; c++) {
+            ChunkFertilityData data = chunks[c];
+            for (int i = 0; i < 256; i++) {
+                int slot = data.indexOf(i & 15, 64, i >> 4);
+                if (slot < 0) continue;
+                sum += legacyRecover(data, slot, wet[c][slot], now);
+            }
+        }
+        return sum;
+    }
+
+    private static long bulk(ChunkFertilityData[] chunks, boolean[][] wet, long now) {
+        long sum = 0;
+        for (int c = 0; c < chunks.length; c++) {
+            ChunkFertilityData data = chunks[c];
+            int[] fert = new int[data.capacity()];
+            double[] conc = new double[data.capacity()];
+            FertilityModel.settle(data, wet[c], now, fert, conc);
+            for (int f : fert) sum += f;
+        }
+        return sum;
+    }
+
+    // The recovery formula as it was before the lookup table (Math.exp).
+    private static int legacyRecover(ChunkFertilityData data, int slot, boolean isWet, long now) {
+        long lastUpdate = data.getLastUpdateTime(slot);
+        int current = data.getBaseFertility(slot);
+        double concentration = data.getConcentration(slot);
+        if (now <= lastUpdate || !isWet) return current;
+
+        double dt = (now - lastUpdate) / 1000.0;
+        double endConcentration = Math.max(0, concentration - FertilityModel.CONC_DECAY_PER_SEC * dt);
+        double avgConc = (concentration + endConcentration) / 2.0;
+
+        double k = FertilityModel.K_BASE;
+        if (avgConc <= FertilityModel.SAFE_CONC_THRESHOLD) {
+            k += avgConc * FertilityModel.K_BONUS_PER_CONC;
+        } else {
+            double safeBonus = FertilityModel.SAFE_CONC_THRESHOLD * FertilityModel.K_BONUS_PER_CONC;
+            double penalty = (avgConc - FertilityModel.SAFE_CONC_THRESHOLD) * (FertilityModel.K_BONUS_PER_CONC * 2.0);
+            k = (FertilityModel.K_BASE + safeBonus) - penalty;
+        }
+
+        int max = FertilityModel.MAX_FERTILITY_BASE;
+        if (avgConc > 0 && avgConc < FertilityModel.TOXIC_CONC_THRESHOLD) max = FertilityModel.OVERFLOW_FERTILITY_MAX;
+
+        int target = k >= 0 ? max : FertilityModel.MIN_FERTILITY_BASE;
+        double rate = Math.abs(k);
+        if (current != target) {
+            current = target - (int) ((target - current) * Math.exp(-rate * dt));
+        }
+        return Math.max(current, FertilityModel.MIN_FERTILITY_BASE);
+    }
+}
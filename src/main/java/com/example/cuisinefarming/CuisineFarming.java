@@ -1,6 +1,8 @@
 package com.example.cuisinefarming;
 
+import com.example.cuisinefarming.effects.EffectService;
 import com.example.cuisinefarming.fertility.FertilityManager;
+import com.example.cuisinefarming.integration.IntegrationHooks;
 import com.example.cuisinefarming.listeners.FarmingListener;
 import com.example.cuisinefarming.listeners.SeedAnalyzerListener;
 import com.example.cuisinefarming.commands.CuisineCommandExecutor;
@@ -17,13 +19,18 @@ public class CuisineFarming extends JavaPlugin {
     private com.example.cuisinefarming.pollination.PollinationManager pollinationManager;
     private com.example.cuisinefarming.cooking.CookingManager cookingManager;
     private FarmingListener farmingListener;
+    private IntegrationHooks integrationHooks;
+    private EffectService effectService;
     // private MonocleTask monocleTask;
 
     @Override
     public void onEnable() {
         instance = this;
+        saveDefaultConfig();
         
         // Initialize Managers
+        this.integrationHooks = new IntegrationHooks(this);
+        this.effectService = new EffectService(this);
         this.fertilityManager = new FertilityManager(this);
         this.itemManager = new CuisineItemManager(this);
         this.geneticsManager = new GeneticsManager(this); // Initialize here
@@ -70,6 +77,9 @@ public class CuisineFarming extends JavaPlugin {
         if (fertilityManager != null) {
             fertilityManager.saveAll();
         }
+        if (farmingListener != null) {
+            farmingListener.saveRegistry();
+        }
         if (cookingManager != null) {
             cookingManager.savePots();
         }
@@ -96,6 +106,14 @@ public class CuisineFarming extends JavaPlugin {
         return farmingListener;
     }
 
+    public IntegrationHooks getIntegrationHooks() {
+        return integrationHooks;
+    }
+
+    public EffectService getEffectService() {
+        return effectService;
+    }
+
     public com.example.cuisinefarming.cooking.CookingManager getCookingManager() {
         return cookingManager;
     }
@@ -135,7 +135,7 @@ public class CookingPot {
         // 播放音效
         location.getWorld().playSound(location, Sound.ENTITY_ITEM_PICKUP, 1.0f, 1.0f);
         location.getWorld().playSound(location, Sound.BLOCK_WATER_AMBIENT, 0.5f, 1.5f);
-        location.getWorld().spawnParticle(Particle.SPLASH, location.clone().add(0.5, 0.8, 0.5), 10, 0.2, 0.1, 0.2, 0.1);
+        plugin.getEffectService().spawn(Particle.SPLASH, location.clone().add(0.5, 0.8, 0.5), 10, 0.2, 0.1, 0.2, 0.1);
         
         player.sendMessage(Component.text("§a加入了 " + item.getType().name()));
         return true;
@@ -255,7 +255,7 @@ public class CookingPot {
                 // 粒子效果
                 if (state == CookingState.COOKING) {
                     // 使用 Cloud 替代 Campfire Smoke 防止与下方营火烟雾重叠
-                    location.getWorld().spawnParticle(Particle.CLOUD, location.clone().add(0.5, 0.8, 0.5), 1, 0, 0.05, 0, 0.02);
+                    plugin.getEffectService().spawn(Particle.CLOUD, location.clone().add(0.5, 0.8, 0.5), 1, 0, 0.05, 0, 0.02);
                     if (Math.random() < 0.1) {
                         location.getWorld().playSound(location, Sound.BLOCK_FIRE_AMBIENT, 0.5f, 1.0f);
                     }
@@ -543,7 +543,7 @@ public class CookingPot {
             isHeated = false; // Stop heating
             location.getWorld().playSound(location, Sound.BLOCK_NOTE_BLOCK_BELL, 1.0f, 1.0f); // Ding!
         }
-        location.getWorld().spawnParticle(Particle.HAPPY_VILLAGER, location.clone().add(0.5, 1.0, 0.5), 10, 0.3, 0.3, 0.3, 0.05);
+        plugin.getEffectService().spawn(Particle.HAPPY_VILLAGER, location.clone().add(0.5, 1.0, 0.5), 10, 0.3, 0.3, 0.3, 0.05);
         
         // Optional: Play toast sound for high quality
         if (finalStars >= 4) {
@@ -595,8 +595,8 @@ public class CookingPot {
         }
         
         location.getWorld().playSound(location, Sound.ITEM_FIRECHARGE_USE, 1.0f, 1.0f);
-        location.getWorld().spawnParticle(Particle.FLAME, location.clone().add(0.5, 0.2, 0.5), 5, 0.2, 0.2, 0.2, 0.05);
-        location.getWorld().spawnParticle(Particle.SMOKE, location.clone().add(0.5, 0.5, 0.5), 5, 0.2, 0.2, 0.2, 0.05);
+        plugin.getEffectService().spawn(Particle.FLAME, location.clone().add(0.5, 0.2, 0.5), 5, 0.2, 0.2, 0.2, 0.05);
+        plugin.getEffectService().spawn(Particle.SMOKE, location.clone().add(0.5, 0.5, 0.5), 5, 0.2, 0.2, 0.2, 0.05);
     }
 
     private String getFiveStarLore(String key) {
@@ -619,7 +619,7 @@ public class CookingPot {
         temperature -= amount;
         if (temperature < 20.0) temperature = 20.0;
         location.getWorld().playSound(location, Sound.BLOCK_FIRE_EXTINGUISH, 0.5f, 1.0f);
-        location.getWorld().spawnParticle(Particle.CAMPFIRE_SIGNAL_SMOKE, location.clone().add(0.5, 0.5, 0.5), 10, 0.2, 0.2, 0.2, 0.1);
+        plugin.getEffectService().spawn(Particle.CAMPFIRE_SIGNAL_SMOKE, location.clone().add(0.5, 0.5, 0.5), 10, 0.2, 0.2, 0.2, 0.1);
     }
     
     public void stir(Player player) {
@@ -631,7 +631,7 @@ public class CookingPot {
         }
         
         // Visual feedback
-        location.getWorld().spawnParticle(Particle.SPLASH, location.clone().add(0.5, 0.8, 0.5), 15, 0.3, 0.1, 0.3, 0.1);
+        plugin.getEffectService().spawn(Particle.SPLASH, location.clone().add(0.5, 0.8, 0.5), 15, 0.3, 0.1, 0.3, 0.1);
         location.getWorld().playSound(location, Sound.ENTITY_FISHING_BOBBER_SPLASH, 1.0f, 1.0f);
         
         // Ladle usage: Mix and potentially start cooking
@@ -0,0 +1,171 @@
+package com.example.cuisinefarming.effects;
+
+import com.example.cuisinefarming.CuisineFarming;
+import com.example.cuisinefarming.util.LongObjectMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends ambient particles only to players close enough to see them.
+ *
+ * {@code World.spawnParticle} looks up and packets every player within 32 blocks on each call.
+ * Here a world's players are snapshotted once per tick and every chunk resolves its candidate
+ * viewers once per tick, so effects in chunks nobody is near cost one map lookup and send
+ * nothing. Each player also has a packets-per-tick budget; effects beyond it are dropped for
+ * that player only.
+ *
+ * Main thread only.
+ */
+public class EffectService {
+
+    private static final Viewer[] NO_VIEWERS = new Viewer[0];
+
+    private static final class Viewer {
+        final Player player;
+        final double x;
+        final double y;
+        final double z;
+        int sent;
+
+        Viewer(Player player, Location location) {
+            this.player = player;
+            this.x = location.getX();
+            this.y = location.getY();
+            this.z = location.getZ();
+        }
+    }
+
+    private static final class WorldViewers {
+        final Viewer[] viewers;
+        // Chunk key -> viewers whose radius reaches into the chunk, resolved on first effect.
+        final LongObjectMap<Viewer[]> chunks = new LongObjectMap<>();
+
+        WorldViewers(Viewer[] viewers) {
+            this.viewers = viewers;
+        }
+    }
+
+    private final double radiusSquared;
+    private final int packetsPerTick;
+    private final Map<UUID, WorldViewers> worlds = new HashMap<>();
+    private int tick = Integer.MIN_VALUE;
+
+    private long sent = 0L;
+    private long culled = 0L;
+    private long throttled = 0L;
+
+    public EffectService(CuisineFarming plugin) {
+        double radius = Math.max(1.0, plugin.getConfig().getDouble("effects.view-radius", 32.0));
+        this.radiusSquared = radius * radius;
+        this.packetsPerTick = Math.max(0, plugin.getConfig().getInt("effects.packets-per-tick", 32));
+    }
+
+    /** Same defaults as {@code World.spawnParticle(particle, location, count)}. */
+    public void spawn(Particle particle, Location location, int count) {
+        spawn(particle, location, count, 0.0, 0.0, 0.0, 1.0);
+    }
+
+    public void spawn(Particle particle, Location location, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra) {
+        World world = location.getWorld();
+        if (world == null) return;
+        double x = location.getX();
+        double y = location.getY();
+        double z = location.getZ();
+
+        Viewer[] viewers = chunkViewers(world, (int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4);
+        if (viewers.length == 0) {
+            culled++;
+            return;
+        }
+        for (Viewer viewer : viewers) {
+            double dx = viewer.x - x;
+            double dy = viewer.y - y;
+            double dz = viewer.z - z;
+            if (dx * dx + dy * dy + dz * dz > radiusSquared) continue;
+            if (packetsPerTick > 0 && viewer.sent >= packetsPerTick) {
+                throttled++;
+                continue;
+            }
+            viewer.sent++;
+            sent++;
+            viewer.player.spawnParticle(particle, x, y, z, count, offsetX, offsetY, offsetZ, extra);
+        }
+    }
+
+    public long getSentCount() {
+        return sent;
+    }
+
+    /** Effects dropped because no player was near their chunk. */
+    public long getCulledCount() {
+        return culled;
+    }
+
+    /** Packets dropped by the per-player budget. */
+    public long getThrottledCount() {
+        return throttled;
+    }
+
+    // --- Internals ---
+
+    private Viewer[] chunkViewers(World world, int chunkX, int chunkZ) {
+        int now = Bukkit.getCurrentTick();
+        if (now != tick) {
+            tick = now;
+            worlds.clear();
+        }
+        WorldViewers worldViewers = worlds.get(world.getUID());
+        if (worldViewers == null) {
+            worldViewers = new WorldViewers(snapshot(world));
+            worlds.put(world.getUID(), worldViewers);
+        }
+        if (worldViewers.viewers.length == 0) return NO_VIEWERS;
+
+        long key = Chunk.getChunkKey(chunkX, chunkZ);
+        Viewer[] viewers = worldViewers.chunks.get(key);
+        if (viewers == null) {
+            viewers = resolve(worldViewers.viewers, chunkX, chunkZ);
+            worldViewers.chunks.put(key, viewers);
+        }
+        return viewers;
+    }
+
+    private static Viewer[] snapshot(World world) {
+        List<Player> players = world.getPlayers();
+        if (players.isEmpty()) return NO_VIEWERS;
+        Viewer[] viewers = new Viewer[players.size()];
+        for (int i = 0; i < viewers.length; i++) {
+            Player player = players.get(i);
+            viewers[i] = new Viewer(player, player.getLocation());
+        }
+        return viewers;
+    }
+
+    /** Viewers within the radius of any point of the chunk column (horizontal distance). */
+    private Viewer[] resolve(Viewer[] viewers, int chunkX, int chunkZ) {
+        double minX = chunkX << 4;
+        double minZ = chunkZ << 4;
+        int count = 0;
+        Viewer[] matches = null;
+        for (Viewer viewer : viewers) {
+            double dx = Math.max(0.0, Math.max(minX - viewer.x, viewer.x - (minX + 16.0)));
+            double dz = Math.max(0.0, Math.max(minZ - viewer.z, viewer.z - (minZ + 16.0)));
+            if (dx * dx + dz * dz > radiusSquared) continue;
+            if (matches == null) matches = new Viewer[viewers.length];
+            matches[count++] = viewer;
+        }
+        if (count == 0) return NO_VIEWERS;
+        return count == matches.length ? matches : Arrays.copyOf(matches, count);
+    }
+}
@@ -1,12 +1,70 @@
 package com.example.cuisinefarming.fertility;
 
 import java.io.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
+/**
+ * Per-chunk fertility storage.
+ *
+ * Entries are kept in an open-addressing table (linear probing) with the packed block key
+ * and each field in its own primitive array, so a tile costs ~22 bytes of payload instead
+ * of a boxed Integer key, a HashMap node and an Entry object (~80+ bytes).
+ *
+ * Update times are stored as ints relative to a per-chunk epoch (see {@link #getEpoch()}).
+ * They are in clock milliseconds: wall time, or game ticks x 50 when the tick clock is used
+ * (see FertilityClock); {@link #isTickClock()} records which one the data was written with.
+ *
+ * Reads go through a slot index: {@link #indexOf(int, int, int)} returns the slot of a block
+ * (or -1), and the getters read that slot. A slot is only valid until the next insert,
+ * because inserts may rehash the table.
+ */
 public class ChunkFertilityData {
-    private final Map<Integer, Entry> dataMap = new HashMap<>();
+
+    // packKey() never produces this: x is always 0..15, so the top byte can't be 0xFF.
+    private static final int EMPTY_KEY = -1;
+    private static final long EPOCH_UNSET = Long.MIN_VALUE;
+    private static final int DEFAULT_CAPACITY = 16;
+    // Resize at 3/4 load.
+    private static final int LOAD_FACTOR_SHIFT = 2;
+
+    // v3 serialization
+    private static final byte FLAG_DEFLATE = 1;
+    private static final byte FLAG_TICK_CLOCK = 2;
+    // Deflater setup costs more than it saves on small payloads.
+    private static final int DEFLATE_THRESHOLD = 512;
+    // Concentration is stored in 1/100 units.
+    private static final double CONC_SCALE = 100.0;
+
+    private int[] keys;
+    private short[] baseFertility;
+    // Relative to epoch. int covers +-24 days of wall time (+-3.4 years of ticks) around it.
+    private int[] lastUpdateTime;
+    private long epoch = EPOCH_UNSET;
+    private boolean tickClock = false;
+    private double[] fertilizerConcentration;
+    private int size = 0;
     private boolean dirty = false;
+    // Bumped on every write, so a background save can tell whether its snapshot is still current.
+    private int version = 0;
+
+    public ChunkFertilityData() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    private ChunkFertilityData(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    private ChunkFertilityData(int[] keys, short[] baseFertility, int[] lastUpdateTime, double[] fertilizerConcentration, int size) {
+        this.keys = keys;
+        this.baseFertility = baseFertility;
+        this.lastUpdateTime = lastUpdateTime;
+        this.fertilizerConcentration = fertilizerConcentration;
+        this.size = size;
+    }
 
     public boolean isDirty() {
         return dirty;
@@ -16,111 +74,360 @@ public class ChunkFertilityData {
         this.dirty = false;
     }
 
-    public static class Entry {
-        public int baseFertility;
-        public long lastUpdateTime;
-        public double fertilizerConcentration; // New: Concentration value
+    public int getVersion() {
+        return version;
+    }
 
-        public Entry(int baseFertility, long lastUpdateTime, double fertilizerConcentration) {
-            this.baseFertility = baseFertility;
-            this.lastUpdateTime = lastUpdateTime;
-            this.fertilizerConcentration = fertilizerConcentration;
+    /**
+     * Clear the dirty flag only if nothing was written since the snapshot taken at {@code version}.
+     */
+    public void markClean(int version) {
+        if (this.version == version) {
+            this.dirty = false;
         }
     }
 
-    public Entry getData(int x, int y, int z) {
-        return dataMap.get(packKey(x, y, z));
+    /**
+     * Detached copy for serializing off the main thread.
+     */
+    public ChunkFertilityData copy() {
+        ChunkFertilityData copy = new ChunkFertilityData(keys.clone(), baseFertility.clone(), lastUpdateTime.clone(), fertilizerConcentration.clone(), size);
+        copy.version = version;
+        copy.epoch = epoch;
+        copy.tickClock = tickClock;
+        return copy;
     }
 
-    public void setBaseData(int x, int y, int z, int baseFertility, long time) {
-        Entry entry = dataMap.get(packKey(x, y, z));
-        if (entry != null) {
-            entry.baseFertility = baseFertility;
-            entry.lastUpdateTime = time;
-        } else {
-            dataMap.put(packKey(x, y, z), new Entry(baseFertility, time, 0.0));
+    public boolean isTickClock() {
+        return tickClock;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Switch to another clock. Old timestamps mean nothing on the new clock, so every entry
+     * is restamped to {@code now} (no recovery is credited for the switch).
+     */
+    public void resetClock(boolean tickClock, long now) {
+        this.tickClock = tickClock;
+        this.epoch = now;
+        Arrays.fill(lastUpdateTime, 0);
+        if (size > 0) {
+            dirty = true;
+            version++;
         }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Slot of the given block, or -1 if it has no entry.
+     */
+    public int indexOf(int x, int y, int z) {
+        return findSlot(packKey(x, y, z));
+    }
+
+    public int getBaseFertility(int slot) {
+        return baseFertility[slot];
+    }
+
+    public long getLastUpdateTime(int slot) {
+        return epoch + lastUpdateTime[slot];
+    }
+
+    public double getConcentration(int slot) {
+        return fertilizerConcentration[slot];
+    }
+
+    public void setBaseData(int x, int y, int z, int baseFertility, long time) {
+        int slot = insertSlot(packKey(x, y, z));
+        this.baseFertility[slot] = (short) baseFertility;
+        storeTime(slot, time);
         dirty = true;
+        version++;
     }
 
     public void setFertilizerData(int x, int y, int z, double concentration, long time) {
-        Entry entry = dataMap.get(packKey(x, y, z));
-        if (entry != null) {
-            entry.fertilizerConcentration = concentration;
-            entry.lastUpdateTime = time; // Usually we update time when modifying concentration
-        } else {
-            dataMap.put(packKey(x, y, z), new Entry(0, time, concentration));
-        }
+        int slot = insertSlot(packKey(x, y, z));
+        this.fertilizerConcentration[slot] = concentration;
+        storeTime(slot, time); // Usually we update time when modifying concentration
         dirty = true;
+        version++;
     }
 
     public void updateTime(int x, int y, int z, long time) {
-        Entry entry = dataMap.get(packKey(x, y, z));
-        if (entry != null) {
-            entry.lastUpdateTime = time;
+        int slot = indexOf(x, y, z);
+        if (slot >= 0) {
+            storeTime(slot, time);
             dirty = true;
+            version++;
         }
     }
 
+    // --- Iteration ---
+
+    /**
+     * Number of table slots. Iterate 0..capacity() and skip slots where {@link #isOccupied(int)} is false.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public boolean isOccupied(int slot) {
+        return keys[slot] != EMPTY_KEY;
+    }
+
+    public int getKey(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * Writes the v3 format:
+     * <pre>
+     * int 3 | byte flags (FLAG_DEFLATE, FLAG_TICK_CLOCK) | payload (deflated if FLAG_DEFLATE)
+     * payload: varint count, varlong baseTime, then one column per field in block order
+     *          (y, z, x): key deltas, zigzag fertility, time - baseTime, zigzag quantized concentration
+     * </pre>
+     * Sorting by layer keeps key deltas at 1 for a contiguous field, and the columns keep
+     * similar bytes together, which is what Deflater benefits from.
+     */
     public byte[] serialize() {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             DataOutputStream dos = new DataOutputStream(baos)) {
-            
-            // Version header to avoid crash with old data
-            dos.writeInt(2); // Version 2
-            
-            dos.writeInt(dataMap.size());
-            for (Map.Entry<Integer, Entry> entry : dataMap.entrySet()) {
-                dos.writeInt(entry.getKey());
-                dos.writeByte(entry.getValue().baseFertility);
-                dos.writeLong(entry.getValue().lastUpdateTime);
-                dos.writeDouble(entry.getValue().fertilizerConcentration);
+        return serialize(true);
+    }
+
+    /**
+     * v3 without the deflate pass, for writes that must happen on the main thread (chunk
+     * unload). A large uncompressed blob loads as dirty, so the flusher compresses it later.
+     */
+    public byte[] serializeUncompressed() {
+        return serialize(false);
+    }
+
+    private byte[] serialize(boolean compress) {
+        // Block order: y (unsigned 16 bit), then z, then x.
+        long[] order = new long[size];
+        int n = 0;
+        long baseTime = Long.MAX_VALUE;
+        for (int slot = 0; slot < keys.length; slot++) {
+            int key = keys[slot];
+            if (key == EMPTY_KEY) continue;
+            long ordKey = ((long) unpackY(key) << 16) | (unpackZ(key) << 8) | unpackX(key);
+            // Flip the sign bit so the signed sort orders ordKey as unsigned.
+            order[n++] = ((ordKey << 32) | slot) ^ Long.MIN_VALUE;
+            baseTime = Math.min(baseTime, lastUpdateTime[slot]);
+        }
+        Arrays.sort(order);
+        if (n == 0) baseTime = 0;
+        // baseTime is relative to the epoch here; the blob stores it absolute.
+        long absoluteBase = n == 0 ? 0 : epoch + baseTime;
+
+        ByteWriter payload = new ByteWriter(16 + n * 8);
+        writeVarLong(payload, n);
+        writeVarLong(payload, absoluteBase);
+
+        long prev = 0;
+        for (long o : order) {
+            long ordKey = (o ^ Long.MIN_VALUE) >>> 32;
+            writeVarLong(payload, ordKey - prev);
+            prev = ordKey;
+        }
+        for (long o : order) {
+            writeVarLong(payload, zigZag(baseFertility[(int) o]));
+        }
+        for (long o : order) {
+            writeVarLong(payload, (long) lastUpdateTime[(int) o] - baseTime);
+        }
+        for (long o : order) {
+            writeVarLong(payload, zigZag(Math.round(fertilizerConcentration[(int) o] * CONC_SCALE)));
+        }
+
+        byte[] raw = payload.toByteArray();
+        byte flags = tickClock ? FLAG_TICK_CLOCK : 0;
+        if (compress && raw.length >= DEFLATE_THRESHOLD) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                raw = deflated;
+                flags |= FLAG_DEFLATE;
             }
-            return baos.toByteArray();
-        } catch (IOException e) {
-            e.printStackTrace();
-            return new byte[0];
         }
+
+        byte[] out = new byte[5 + raw.length];
+        out[0] = 0;
+        out[1] = 0;
+        out[2] = 0;
+        out[3] = 3; // Version 3
+        out[4] = flags;
+        System.arraycopy(raw, 0, out, 5, raw.length);
+        return out;
     }
 
     public static ChunkFertilityData deserialize(byte[] bytes) {
-        ChunkFertilityData data = new ChunkFertilityData();
-        if (bytes == null || bytes.length == 0) return data;
+        if (bytes == null || bytes.length == 0) return new ChunkFertilityData();
 
         try (ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
              DataInputStream dis = new DataInputStream(bais)) {
-            
+
             // Check version/size
-            // Old format started with size (int) directly. 
+            // Old format started with size (int) directly.
             // If we read a small int (like 2) it might be version, but it could be size.
             // However, old format: size -> key -> byte -> long -> int -> long.
-            // New format: version -> size -> key -> byte -> long -> double.
-            
+            // v2: version -> size -> key -> byte -> long -> double.
+            // v3: version -> flags -> varint payload (see serialize()).
+
             int firstInt = dis.readInt();
-            if (firstInt == 2) {
-                // New Format
+            if (firstInt == 3) {
+                return readV3(bytes);
+            } else if (firstInt == 2) {
                 int size = dis.readInt();
+                ChunkFertilityData data = new ChunkFertilityData(size);
                 for (int i = 0; i < size; i++) {
                     int key = dis.readInt();
                     int baseFertility = dis.readByte() & 0xFF;
                     long lastTime = dis.readLong();
                     double concentration = dis.readDouble();
-                    data.dataMap.put(key, new Entry(baseFertility, lastTime, concentration));
+                    int slot = data.insertSlot(key);
+                    data.baseFertility[slot] = (short) baseFertility;
+                    data.storeTime(slot, lastTime);
+                    data.fertilizerConcentration[slot] = concentration;
                 }
+                // Rewrite as v3 on the next save.
+                data.dirty = size > 0;
+                return data;
             } else {
                 // Old Format (firstInt is size) or Unknown
                 // Try to read old format to migrate? Or just discard.
                 // Discarding is safer for development.
                 // System.out.println("CuisineFarming: Detected old data format or unknown version. Resetting chunk data.");
             }
-        } catch (IOException e) {
+        } catch (IOException | DataFormatException e) {
             e.printStackTrace();
         }
+        return new ChunkFertilityData();
+    }
+
+    private static ChunkFertilityData readV3(byte[] bytes) throws IOException, DataFormatException {
+        if (bytes.length < 5) throw new EOFException();
+        byte flags = bytes[4];
+        byte[] raw = (flags & FLAG_DEFLATE) != 0
+                ? inflate(bytes, 5, bytes.length - 5)
+                : Arrays.copyOfRange(bytes, 5, bytes.length);
+
+        int[] pos = {0};
+        int n = (int) readVarLong(raw, pos);
+        long baseTime = readVarLong(raw, pos);
+
+        ChunkFertilityData data = new ChunkFertilityData(n);
+        data.tickClock = (flags & FLAG_TICK_CLOCK) != 0;
+        // Written uncompressed on unload (see serializeUncompressed); recompress on the next save.
+        data.dirty = (flags & FLAG_DEFLATE) == 0 && raw.length >= DEFLATE_THRESHOLD;
+        int[] slots = new int[n];
+        long ordKey = 0;
+        for (int i = 0; i < n; i++) {
+            ordKey += readVarLong(raw, pos);
+            int y = (int) (ordKey >>> 16) & 0xFFFF;
+            int z = (int) (ordKey >>> 8) & 0xFF;
+            int x = (int) ordKey & 0xFF;
+            slots[i] = data.insertSlot((x << 24) | (y << 8) | z);
+        }
+        for (int i = 0; i < n; i++) {
+            data.baseFertility[slots[i]] = (short) unZigZag(readVarLong(raw, pos));
+        }
+        for (int i = 0; i < n; i++) {
+            data.storeTime(slots[i], baseTime + readVarLong(raw, pos));
+        }
+        for (int i = 0; i < n; i++) {
+            data.fertilizerConcentration[slots[i]] = unZigZag(readVarLong(raw, pos)) / CONC_SCALE;
+        }
         return data;
     }
 
-    public Map<Integer, Entry> getAllEntries() {
-        return dataMap;
+    // --- Encoding helpers ---
+
+    private static long zigZag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unZigZag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * Unsynchronized byte buffer; ByteArrayOutputStream takes a lock per write.
+     */
+    private static final class ByteWriter {
+        private byte[] buf;
+        private int len;
+
+        ByteWriter(int initialCapacity) {
+            buf = new byte[initialCapacity];
+        }
+
+        void write(int b) {
+            if (len == buf.length) buf = Arrays.copyOf(buf, len << 1);
+            buf[len++] = (byte) b;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, len);
+        }
+    }
+
+    private static void writeVarLong(ByteWriter out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static long readVarLong(byte[] in, int[] pos) throws EOFException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (pos[0] >= in.length) throw new EOFException();
+            byte b = in[pos[0]++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new EOFException("Malformed varint");
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] buf = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] in, int off, int len) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(in, off, len);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(len * 3);
+            byte[] buf = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buf);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated fertility data");
+                }
+                out.write(buf, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
     }
 
     public static int unpackX(int key) {
@@ -138,4 +445,110 @@ public class ChunkFertilityData {
     private int packKey(int x, int y, int z) {
         return ((x & 0xFF) << 24) | ((y & 0xFFFF) << 8) | (z & 0xFF);
     }
+
+    // --- Timestamps ---
+
+    private void storeTime(int slot, long time) {
+        if (epoch == EPOCH_UNSET) {
+            epoch = time;
+        }
+        long rel = time - epoch;
+        if (rel > Integer.MAX_VALUE || rel < Integer.MIN_VALUE) {
+            rebase(time);
+            rel = 0;
+        }
+        lastUpdateTime[slot] = (int) rel;
+    }
+
+    /**
+     * Move the epoch to {@code newEpoch}. Entries that fall out of the int range are clamped;
+     * they are over 24 days (wall clock) older than the write that triggered this, so their
+     * recovery and decay have long saturated and the clamp doesn't change any result.
+     */
+    private void rebase(long newEpoch) {
+        long shift = epoch - newEpoch;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == EMPTY_KEY) continue;
+            long rel = lastUpdateTime[slot] + shift;
+            lastUpdateTime[slot] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, rel));
+        }
+        epoch = newEpoch;
+    }
+
+    // --- Open addressing ---
+
+    private int findSlot(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (true) {
+            int k = keys[slot];
+            if (k == key) return slot;
+            if (k == EMPTY_KEY) return -1;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Slot for the key, claiming a fresh zeroed one if absent.
+     */
+    private int insertSlot(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (true) {
+            int k = keys[slot];
+            if (k == key) return slot;
+            if (k == EMPTY_KEY) break;
+            slot = (slot + 1) & mask;
+        }
+
+        if (size + 1 > keys.length - (keys.length >> LOAD_FACTOR_SHIFT)) {
+            rehash(keys.length << 1);
+            return insertSlot(key);
+        }
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        short[] oldFertility = baseFertility;
+        int[] oldTime = lastUpdateTime;
+        double[] oldConc = fertilizerConcentration;
+
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key == EMPTY_KEY) continue;
+            int slot = mix(key) & mask;
+            while (keys[slot] != EMPTY_KEY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            baseFertility[slot] = oldFertility[i];
+            lastUpdateTime[slot] = oldTime[i];
+            fertilizerConcentration[slot] = oldConc[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        baseFertility = new short[capacity];
+        lastUpdateTime = new int[capacity];
+        fertilizerConcentration = new double[capacity];
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        // Smallest power of two that keeps expectedSize under the 3/4 load limit.
+        int needed = Math.max(DEFAULT_CAPACITY, expectedSize + (expectedSize / 3) + 1);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    private static int mix(int key) {
+        // Keys differ mostly in the middle (y) and low (z) bits; spread them over the mask.
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
 }
@@ -0,0 +1,125 @@
+package com.example.cuisinefarming.fertility;
+
+import com.example.cuisinefarming.util.LongObjectMap;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Short-lived per-block cache of {@link FertilityManager.EfficiencyBreakdown}.
+ *
+ * Inputs of a crop's efficiency (fertility, moisture, fertilizer, external bonuses) change a few
+ * times a minute, while the growth task asks for it every few ticks. Entries live for a short
+ * TTL so slow drift (fertility recovery, seasons) is still picked up, and are invalidated
+ * explicitly whenever one of the inputs is changed by us.
+ *
+ * Keyed by Block.getBlockKey of the soil block. Main thread only.
+ */
+public class EfficiencyCache {
+
+    private static final class Entry {
+        final FertilityManager.EfficiencyBreakdown breakdown;
+        final long expiresAt;
+
+        Entry(FertilityManager.EfficiencyBreakdown breakdown, long expiresAt) {
+            this.breakdown = breakdown;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final Map<UUID, LongObjectMap<Entry>> entries = new HashMap<>();
+    private final long ttlMillis;
+
+    private long hits;
+    private long misses;
+
+    public EfficiencyCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public boolean isEnabled() {
+        return ttlMillis > 0;
+    }
+
+    /**
+     * Cached breakdown for the soil block, or null if absent or expired.
+     */
+    public FertilityManager.EfficiencyBreakdown get(Block soil, long now) {
+        LongObjectMap<Entry> worldEntries = entries.get(soil.getWorld().getUID());
+        Entry entry = worldEntries != null ? worldEntries.get(soil.getBlockKey()) : null;
+        if (entry == null || entry.expiresAt <= now) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.breakdown;
+    }
+
+    public void put(Block soil, FertilityManager.EfficiencyBreakdown breakdown, long now) {
+        entries.computeIfAbsent(soil.getWorld().getUID(), k -> new LongObjectMap<>())
+                .put(soil.getBlockKey(), new Entry(breakdown, now + ttlMillis));
+    }
+
+    public void invalidate(Block soil) {
+        LongObjectMap<Entry> worldEntries = entries.get(soil.getWorld().getUID());
+        if (worldEntries != null) {
+            worldEntries.remove(soil.getBlockKey());
+        }
+    }
+
+    public void invalidateWorld(World world) {
+        entries.remove(world.getUID());
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Drop expired entries so crops that stopped being queried don't pile up.
+     */
+    public void purgeExpired(long now) {
+        for (LongObjectMap<Entry> worldEntries : entries.values()) {
+            // Collect first: removal shifts entries, so it can't happen mid-scan.
+            long[] expired = new long[worldEntries.size()];
+            int n = 0;
+            for (int i = 0; i < worldEntries.capacity(); i++) {
+                if (worldEntries.isOccupied(i) && worldEntries.valueAt(i).expiresAt <= now) {
+                    expired[n++] = worldEntries.keyAt(i);
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                worldEntries.remove(expired[i]);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (LongObjectMap<Entry> worldEntries : entries.values()) {
+            size += worldEntries.size();
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+    }
+}
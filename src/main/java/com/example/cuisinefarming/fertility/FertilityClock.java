@@ -0,0 +1,54 @@
+package com.example.cuisinefarming.fertility;
+
+import org.bukkit.World;
+
+/**
+ * Time source for fertility recovery and fertilizer decay.
+ *
+ * WALL uses System.currentTimeMillis, so lag, pauses and downtime all count as recovery time.
+ * TICKS uses the world's game time, which only advances while the world is ticked: recovery is
+ * then deterministic under low TPS and stops while the server is down.
+ *
+ * Both return "clock milliseconds" so FertilityModel works in one unit: in tick mode a tick is
+ * 50 ms, which is what it lasts at 20 TPS.
+ */
+public final class FertilityClock {
+
+    public enum Mode { WALL, TICKS }
+
+    public static final long MILLIS_PER_TICK = 50L;
+
+    private final Mode mode;
+
+    public FertilityClock(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * "ticks" / "game-ticks" select the game clock, anything else the wall clock.
+     */
+    public static FertilityClock fromConfig(String value) {
+        if (value != null && (value.equalsIgnoreCase("ticks") || value.equalsIgnoreCase("game-ticks"))) {
+            return new FertilityClock(Mode.TICKS);
+        }
+        return new FertilityClock(Mode.WALL);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isTickBased() {
+        return mode == Mode.TICKS;
+    }
+
+    /**
+     * Current time in clock milliseconds for the given world.
+     */
+    public long now(World world) {
+        if (mode == Mode.TICKS) {
+            return world.getGameTime() * MILLIS_PER_TICK;
+        }
+        return System.currentTimeMillis();
+    }
+}
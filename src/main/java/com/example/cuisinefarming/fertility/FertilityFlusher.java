@@ -0,0 +1,209 @@
+package com.example.cuisinefarming.fertility;
+
+import com.example.cuisinefarming.CuisineFarming;
+import com.example.cuisinefarming.util.LongObjectMap;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind persistence for fertility data.
+ *
+ * Every autosave interval, dirty chunks are copied on the main thread (plain array clones),
+ * serialized on an async worker, and the resulting bytes are written to the chunk PDC on the
+ * main thread again, a few per tick under {@code fertility.flush-budget-ms}.
+ * A write only marks the live data clean if it was not modified after its snapshot was taken,
+ * so edits made while a save is in flight are picked up by the next round.
+ *
+ * Chunk unloads go through {@link #unload} and write synchronously, since the chunk is saved
+ * right after the event: bytes from an async batch are used when still current, otherwise
+ * the uncompressed form is written, which the flusher compresses after the chunk loads again.
+ */
+public class FertilityFlusher {
+
+    private final CuisineFarming plugin;
+    private final FertilityManager manager;
+    private final NamespacedKey pdcKey;
+    private final long budgetNanos;
+    private final long intervalTicks;
+
+    private final ConcurrentLinkedQueue<PendingWrite> ready = new ConcurrentLinkedQueue<>();
+    // Only one async batch at a time; a slow batch delays the next autosave instead of piling up.
+    private final AtomicBoolean batchInFlight = new AtomicBoolean(false);
+
+    private BukkitTask autosaveTask;
+    private BukkitTask drainTask;
+
+    private static final class Snapshot {
+        final UUID worldId;
+        final long chunkKey;
+        final ChunkFertilityData live;
+        final ChunkFertilityData copy;
+
+        Snapshot(UUID worldId, long chunkKey, ChunkFertilityData live) {
+            this.worldId = worldId;
+            this.chunkKey = chunkKey;
+            this.live = live;
+            this.copy = live.copy();
+        }
+
+        PendingWrite serialize() {
+            return new PendingWrite(worldId, chunkKey, live, copy.getVersion(), copy.serialize());
+        }
+    }
+
+    private static final class PendingWrite {
+        final UUID worldId;
+        final long chunkKey;
+        final ChunkFertilityData live;
+        final int version;
+        final byte[] bytes;
+
+        PendingWrite(UUID worldId, long chunkKey, ChunkFertilityData live, int version, byte[] bytes) {
+            this.worldId = worldId;
+            this.chunkKey = chunkKey;
+            this.live = live;
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
+
+    public FertilityFlusher(CuisineFarming plugin, FertilityManager manager, NamespacedKey pdcKey) {
+        this.plugin = plugin;
+        this.manager = manager;
+        this.pdcKey = pdcKey;
+        this.budgetNanos = (long) (Math.max(0.1, plugin.getConfig().getDouble("fertility.flush-budget-ms", 2.0)) * 1_000_000L);
+        this.intervalTicks = Math.max(0L, plugin.getConfig().getLong("fertility.autosave-interval", 300L)) * 20L;
+    }
+
+    public void start() {
+        if (intervalTicks > 0) {
+            autosaveTask = Bukkit.getScheduler().runTaskTimer(plugin, this::autosave, intervalTicks, intervalTicks);
+        }
+        drainTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+    }
+
+    public void stop() {
+        if (autosaveTask != null) autosaveTask.cancel();
+        if (drainTask != null) drainTask.cancel();
+        autosaveTask = null;
+        drainTask = null;
+    }
+
+    /**
+     * Snapshot dirty chunks and hand them to an async worker for serialization.
+     */
+    public void autosave() {
+        if (!batchInFlight.compareAndSet(false, true)) return;
+
+        List<Snapshot> batch = collectDirty();
+        if (batch.isEmpty()) {
+            batchInFlight.set(false);
+            return;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                for (Snapshot snapshot : batch) {
+                    ready.add(snapshot.serialize());
+                }
+            } finally {
+                batchInFlight.set(false);
+            }
+        });
+    }
+
+    /**
+     * Main thread: apply serialized chunks until this tick's budget is used up.
+     */
+    private void drain() {
+        if (ready.isEmpty()) return;
+
+        long deadline = System.nanoTime() + budgetNanos;
+        PendingWrite write;
+        while ((write = ready.poll()) != null) {
+            apply(write);
+            if (System.nanoTime() >= deadline) break;
+        }
+    }
+
+    /**
+     * Chunk unload (main thread): write the chunk's data before the chunk is saved. Takes any
+     * serialized write queued for it; its bytes are reused if nothing changed since the snapshot.
+     */
+    public void unload(Chunk chunk, ChunkFertilityData data) {
+        byte[] bytes = null;
+        for (Iterator<PendingWrite> it = ready.iterator(); it.hasNext(); ) {
+            PendingWrite write = it.next();
+            if (write.live != data) continue;
+            it.remove();
+            if (write.version == data.getVersion()) bytes = write.bytes;
+        }
+        if (bytes == null) bytes = data.serializeUncompressed();
+        chunk.getPersistentDataContainer().set(pdcKey, PersistentDataType.BYTE_ARRAY, bytes);
+        data.setClean();
+    }
+
+    /**
+     * Shutdown path: write everything now. Serialization runs in parallel on the common pool,
+     * the PDC writes stay on the calling (main) thread.
+     */
+    public void flushAll() {
+        stop();
+
+        // Results from an earlier async batch are still valid; their version check decides.
+        PendingWrite write;
+        while ((write = ready.poll()) != null) {
+            apply(write);
+        }
+
+        List<Snapshot> batch = collectDirty();
+        if (batch.isEmpty()) return;
+
+        List<PendingWrite> writes = batch.parallelStream().map(Snapshot::serialize).toList();
+        for (PendingWrite pending : writes) {
+            apply(pending);
+        }
+    }
+
+    private List<Snapshot> collectDirty() {
+        List<Snapshot> batch = new ArrayList<>();
+        for (Map.Entry<UUID, LongObjectMap<ChunkFertilityData>> worldEntry : manager.getLoadedData().entrySet()) {
+            LongObjectMap<ChunkFertilityData> worldCache = worldEntry.getValue();
+            for (int i = 0; i < worldCache.capacity(); i++) {
+                if (!worldCache.isOccupied(i)) continue;
+                ChunkFertilityData data = worldCache.valueAt(i);
+                if (data.isDirty()) {
+                    batch.add(new Snapshot(worldEntry.getKey(), worldCache.keyAt(i), data));
+                }
+            }
+        }
+        return batch;
+    }
+
+    private void apply(PendingWrite write) {
+        // Skip chunks that were unloaded meanwhile: unload() already wrote them.
+        LongObjectMap<ChunkFertilityData> worldCache = manager.getLoadedData().get(write.worldId);
+        if (worldCache == null || worldCache.get(write.chunkKey) != write.live) return;
+
+        World world = Bukkit.getWorld(write.worldId);
+        if (world == null) return;
+        int chunkX = (int) write.chunkKey;
+        int chunkZ = (int) (write.chunkKey >> 32);
+        if (!world.isChunkLoaded(chunkX, chunkZ)) return;
+
+        world.getChunkAt(chunkX, chunkZ).getPersistentDataContainer().set(pdcKey, PersistentDataType.BYTE_ARRAY, write.bytes);
+        write.live.markClean(write.version);
+    }
+}
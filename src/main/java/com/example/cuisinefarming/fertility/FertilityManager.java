@@ -1,44 +1,56 @@
 package com.example.cuisinefarming.fertility;
 
 import com.example.cuisinefarming.CuisineFarming;
+import com.example.cuisinefarming.integration.IntegrationHooks;
+import com.example.cuisinefarming.util.LongObjectMap;
 import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.type.Farmland;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.MoistureChangeEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
 import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.bukkit.block.data.Ageable;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-
 public class FertilityManager implements Listener {
 
-    private final Map<Chunk, ChunkFertilityData> cache = new HashMap<>();
+    // World UID -> (Chunk.getChunkKey -> data). Keyed by primitive chunk key so lookups never
+    // touch Chunk.equals/hashCode or keep chunk wrappers alive.
+    private final Map<UUID, LongObjectMap<ChunkFertilityData>> cache = new HashMap<>();
+    // Most lookups hit the same world back to back; skip the UUID map for those.
+    private World lastWorld;
+    private LongObjectMap<ChunkFertilityData> lastWorldCache;
     private final NamespacedKey pdcKey;
+    private final FertilityFlusher flusher;
+    private final EfficiencyCache efficiencyCache;
+    private final IntegrationHooks hooks;
+    private final NeighborhoodIndex neighborhoodIndex;
+    private final FertilityClock clock;
+    private Consumer<Block> soilChangeListener;
     
-    // Constants
-    private static final int MAX_FERTILITY_BASE = 100;
-    private static final int MIN_FERTILITY_BASE = -100;
+    // Constants (recovery/decay constants live in FertilityModel)
     private static final int INITIAL_FERTILITY = 0;
     
-    // Concentration Constants
-    private static final double CONC_DECAY_PER_SEC = 1.0 / 60.0; // 1.0 per minute
-    private static final double SAFE_CONC_THRESHOLD = 100.0;
-    private static final double TOXIC_CONC_THRESHOLD = 200.0;
-    
-    private static final double K_BASE = 0.002;
-    private static final double K_BONUS_PER_CONC = 0.0001; // 100 conc -> +0.01 (5x base)
-    
     /*
      * [机制量化说明 - Native Mechanics Quantification (Revised)]
      * 
@@ -60,7 +72,37 @@ public class FertilityManager implements Listener {
 
     public FertilityManager(CuisineFarming plugin) {
         this.pdcKey = new NamespacedKey(plugin, "chunk_fertility");
+        this.clock = FertilityClock.fromConfig(plugin.getConfig().getString("fertility.clock", "wall"));
+        this.hooks = plugin.getIntegrationHooks();
+        this.neighborhoodIndex = new NeighborhoodIndex(plugin);
+        this.flusher = new FertilityFlusher(plugin, this, pdcKey);
+        this.efficiencyCache = new EfficiencyCache(plugin.getConfig().getLong("fertility.efficiency-cache-ttl-ms", 2000L));
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        flusher.start();
+        if (efficiencyCache.isEnabled()) {
+            plugin.getServer().getScheduler().runTaskTimer(plugin, () -> efficiencyCache.purgeExpired(System.currentTimeMillis()), 400L, 400L);
+        }
+    }
+
+    public FertilityClock getClock() {
+        return clock;
+    }
+
+    public EfficiencyCache getEfficiencyCache() {
+        return efficiencyCache;
+    }
+
+    /**
+     * Called with the soil block whenever its fertility, concentration or moisture changes
+     * (the same points that invalidate the efficiency cache). Used by the scheduled growth engine.
+     */
+    public void setSoilChangeListener(Consumer<Block> soilChangeListener) {
+        this.soilChangeListener = soilChangeListener;
+    }
+
+    private void invalidateSoil(Block soil) {
+        efficiencyCache.invalidate(soil);
+        if (soilChangeListener != null) soilChangeListener.accept(soil);
     }
 
     /**
@@ -72,13 +114,22 @@ public class FertilityManager implements Listener {
             return 0;
         }
 
-        ChunkFertilityData.Entry entry = getEntry(block);
-        if (entry == null) {
+        return calculateCurrentFertility(block.getWorld(), block.getX(), block.getY(), block.getZ(), isWet(block));
+    }
+
+    /**
+     * Coordinate variant of {@link #calculateCurrentFertility(Block)} for callers that already
+     * know the soil moisture. The caller is responsible for the block being farmland.
+     */
+    public int calculateCurrentFertility(World world, int x, int y, int z, boolean wet) {
+        ChunkFertilityData data = getChunkDataAt(world, x, z);
+        int slot = data.indexOf(x & 15, y, z & 15);
+        if (slot < 0) {
             return INITIAL_FERTILITY;
         }
 
-        long now = System.currentTimeMillis();
-        return calculateRecovery(entry, block, now);
+        long now = clock.now(world);
+        return calculateRecovery(data, slot, wet, now);
     }
     
     /**
@@ -86,25 +137,20 @@ public class FertilityManager implements Listener {
      */
     public double getConcentration(Block block) {
         if (block.getType() != Material.FARMLAND) return 0.0;
-        ChunkFertilityData.Entry entry = getEntry(block);
-        if (entry == null) return 0.0;
+        return getConcentration(block.getWorld(), block.getX(), block.getY(), block.getZ(), isWet(block));
+    }
+
+    /**
+     * Coordinate variant of {@link #getConcentration(Block)}.
+     */
+    public double getConcentration(World world, int x, int y, int z, boolean wet) {
+        ChunkFertilityData data = getChunkDataAt(world, x, z);
+        int slot = data.indexOf(x & 15, y, z & 15);
+        if (slot < 0) return 0.0;
         
         // Calculate current decayed concentration
-        long now = System.currentTimeMillis();
-        double currentConc = entry.fertilizerConcentration;
-        
-        if (entry.lastUpdateTime < now) {
-            boolean isWet = false;
-            if (block.getBlockData() instanceof Farmland farmland) {
-                isWet = farmland.getMoisture() > 0;
-            }
-            if (isWet) {
-                double dt = (now - entry.lastUpdateTime) / 1000.0;
-                double decay = CONC_DECAY_PER_SEC * dt;
-                currentConc = Math.max(0, currentConc - decay);
-            }
-        }
-        return currentConc;
+        long now = clock.now(world);
+        return FertilityModel.decayedConcentration(data.getConcentration(slot), data.getLastUpdateTime(slot), wet, now);
     }
     
     /**
@@ -114,13 +160,14 @@ public class FertilityManager implements Listener {
     public void resetRecoveryTimer(Block block) {
         if (block.getType() != Material.FARMLAND) return;
         
-        ChunkFertilityData data = getChunkData(block.getChunk());
-        ChunkFertilityData.Entry entry = getEntry(block);
-        long now = System.currentTimeMillis();
+        invalidateSoil(block);
+        ChunkFertilityData data = getChunkDataAt(block.getWorld(), block.getX(), block.getZ());
+        int slot = data.indexOf(block.getX() & 15, block.getY(), block.getZ() & 15);
+        long now = clock.now(block.getWorld());
         
-        if (entry != null) {
+        if (slot >= 0) {
             // Just update timestamp, keep values
-            data.setBaseData(block.getX() & 15, block.getY(), block.getZ() & 15, entry.baseFertility, now);
+            data.setBaseData(block.getX() & 15, block.getY(), block.getZ() & 15, data.getBaseFertility(slot), now);
         } else {
             // Init
             data.setBaseData(block.getX() & 15, block.getY(), block.getZ() & 15, INITIAL_FERTILITY, now);
@@ -128,69 +175,64 @@ public class FertilityManager implements Listener {
     }
 
     /**
-     * Core Logic: Recovery Calculation with Concentration
+     * Settled fertility of every tracked farmland tile in a chunk, in one pass.
+     * Moisture and block types come from the snapshot, so no live block reads are made.
+     * Tiles that are no longer farmland are left out.
      */
-    private int calculateRecovery(ChunkFertilityData.Entry entry, Block block, long now) {
-        long lastUpdate = entry.lastUpdateTime;
-        int current = entry.baseFertility;
-        double concentration = entry.fertilizerConcentration;
-        
-        if (now <= lastUpdate) return current;
-
-        // Check moisture
-        boolean isWet = false;
-        if (block.getBlockData() instanceof Farmland farmland) {
-            isWet = farmland.getMoisture() > 0;
+    public ChunkReadout settleChunk(World world, ChunkSnapshot snapshot) {
+        ChunkFertilityData data = getChunkData(world, snapshot.getX(), snapshot.getZ());
+        int capacity = data.capacity();
+        boolean[] wet = new boolean[capacity];
+        boolean[] farmland = new boolean[capacity];
+        for (int slot = 0; slot < capacity; slot++) {
+            if (!data.isOccupied(slot)) continue;
+            int key = data.getKey(slot);
+            int x = ChunkFertilityData.unpackX(key);
+            int y = (short) ChunkFertilityData.unpackY(key);
+            int z = ChunkFertilityData.unpackZ(key);
+            BlockData blockData = snapshot.getBlockData(x, y, z);
+            farmland[slot] = blockData.getMaterial() == Material.FARMLAND;
+            wet[slot] = blockData instanceof Farmland soil && soil.getMoisture() > 0;
         }
-        if (!isWet) return current; // No recovery if dry
 
-        double dt = (now - lastUpdate) / 1000.0;
-        
-        // 1. Calculate Average Concentration over dt
-        // Linear Decay: C(t) = C0 - decay * t
-        double decayAmount = CONC_DECAY_PER_SEC * dt;
-        double endConcentration = Math.max(0, concentration - decayAmount);
-        
-        double avgConc = (concentration + endConcentration) / 2.0;
-        
-        // 2. Determine K (Recovery Rate) based on Average Concentration
-        double k = K_BASE;
-        
-        if (avgConc <= SAFE_CONC_THRESHOLD) {
-            // Safe range: Boost K
-            k += avgConc * K_BONUS_PER_CONC;
-        } else {
-            // Toxic range
-            double safeBonus = SAFE_CONC_THRESHOLD * K_BONUS_PER_CONC;
-            double excess = avgConc - SAFE_CONC_THRESHOLD;
-            double penalty = excess * (K_BONUS_PER_CONC * 2.0); 
-            
-            k = (K_BASE + safeBonus) - penalty;
+        int[] fertility = new int[capacity];
+        double[] concentration = new double[capacity];
+        FertilityModel.settle(data, wet, clock.now(world), fertility, concentration);
+
+        // Compact to farmland tiles only.
+        ChunkReadout readout = new ChunkReadout(data.size());
+        for (int slot = 0; slot < capacity; slot++) {
+            if (!farmland[slot]) continue;
+            int i = readout.count++;
+            readout.keys[i] = data.getKey(slot);
+            readout.fertility[i] = fertility[slot];
+            readout.concentration[i] = concentration[slot];
+            readout.wet[i] = wet[slot];
         }
-        
-        // 3. Apply Formula
-        int max = MAX_FERTILITY_BASE;
-        if (avgConc > 0 && avgConc < TOXIC_CONC_THRESHOLD) {
-            max = 150; 
-        }
-        
-        if (k >= 0) {
-            current = applyRecoveryFormula(current, max, k, dt);
-        } else {
-            current = applyRecoveryFormula(current, MIN_FERTILITY_BASE, -k, dt);
+        return readout;
+    }
+
+    /**
+     * Result of {@link #settleChunk}. Entry i is the tile at packed key {@code keys[i]}
+     * (see ChunkFertilityData.unpackX/Y/Z), valid for i < count.
+     */
+    public static class ChunkReadout {
+        public final int[] keys;
+        public final int[] fertility;
+        public final double[] concentration;
+        public final boolean[] wet;
+        public int count;
+
+        ChunkReadout(int maxSize) {
+            this.keys = new int[maxSize];
+            this.fertility = new int[maxSize];
+            this.concentration = new double[maxSize];
+            this.wet = new boolean[maxSize];
         }
-        
-        // Clamp
-        if (current < MIN_FERTILITY_BASE) current = MIN_FERTILITY_BASE;
-        
-        return current;
     }
 
-    private int applyRecoveryFormula(int current, int target, double k, double t) {
-        if (current == target) return current;
-        double deficit = target - current;
-        double remainingDeficit = deficit * Math.exp(-k * t);
-        return target - (int) remainingDeficit;
+    private int calculateRecovery(ChunkFertilityData data, int slot, boolean isWet, long now) {
+        return FertilityModel.recover(data.getBaseFertility(slot), data.getConcentration(slot), data.getLastUpdateTime(slot), isWet, now);
     }
 
     /**
@@ -200,42 +242,29 @@ public class FertilityManager implements Listener {
     public int modifyBaseFertility(Block block, int delta) {
         if (block.getType() != Material.FARMLAND) return 0;
 
-        ChunkFertilityData data = getChunkData(block.getChunk());
-        ChunkFertilityData.Entry entry = getEntry(block);
+        ChunkFertilityData data = getChunkDataAt(block.getWorld(), block.getX(), block.getZ());
+        int slot = data.indexOf(block.getX() & 15, block.getY(), block.getZ() & 15);
         
-        long now = System.currentTimeMillis();
+        long now = clock.now(block.getWorld());
         int currentVal;
         double currentConc = 0;
 
-        if (entry == null) {
+        if (slot < 0) {
             currentVal = INITIAL_FERTILITY;
             data.setBaseData(block.getX() & 15, block.getY(), block.getZ() & 15, currentVal, now);
         } else {
-            currentVal = calculateRecovery(entry, block, now);
-            
-            if (entry.lastUpdateTime < now) {
-                boolean isWet = false;
-                if (block.getBlockData() instanceof Farmland farmland) {
-                    isWet = farmland.getMoisture() > 0;
-                }
-                if (isWet) {
-                    double dt = (now - entry.lastUpdateTime) / 1000.0;
-                    double decay = CONC_DECAY_PER_SEC * dt;
-                    currentConc = Math.max(0, entry.fertilizerConcentration - decay);
-                } else {
-                    currentConc = entry.fertilizerConcentration;
-                }
-            } else {
-                currentConc = entry.fertilizerConcentration;
-            }
+            boolean isWet = isWet(block);
+            currentVal = calculateRecovery(data, slot, isWet, now);
+            currentConc = FertilityModel.decayedConcentration(data.getConcentration(slot), data.getLastUpdateTime(slot), isWet, now);
         }
 
         // Apply delta
         currentVal += delta;
-        if (currentVal < MIN_FERTILITY_BASE) currentVal = MIN_FERTILITY_BASE;
+        if (currentVal < FertilityModel.MIN_FERTILITY_BASE) currentVal = FertilityModel.MIN_FERTILITY_BASE;
         
         data.setFertilizerData(block.getX() & 15, block.getY(), block.getZ() & 15, currentConc, now);
         data.setBaseData(block.getX() & 15, block.getY(), block.getZ() & 15, currentVal, now);
+        invalidateSoil(block);
         
         updateVisuals(block, currentVal);
         
@@ -248,28 +277,20 @@ public class FertilityManager implements Listener {
     public void applyFertilizer(Block block, double concentrationAmount) {
         if (block.getType() != Material.FARMLAND) return;
 
-        ChunkFertilityData data = getChunkData(block.getChunk());
-        ChunkFertilityData.Entry entry = getEntry(block);
+        ChunkFertilityData data = getChunkDataAt(block.getWorld(), block.getX(), block.getZ());
+        int slot = data.indexOf(block.getX() & 15, block.getY(), block.getZ() & 15);
         
-        long now = System.currentTimeMillis();
+        long now = clock.now(block.getWorld());
         
         // 1. Settle current state
         int currentVal = INITIAL_FERTILITY;
         double currentConc = 0;
         
-        if (entry != null) {
-            currentVal = calculateRecovery(entry, block, now);
+        if (slot >= 0) {
             // Decay existing conc
-            boolean isWet = false;
-            if (block.getBlockData() instanceof Farmland farmland) {
-                isWet = farmland.getMoisture() > 0;
-            }
-            if (isWet) {
-                double dt = (now - entry.lastUpdateTime) / 1000.0;
-                currentConc = Math.max(0, entry.fertilizerConcentration - (CONC_DECAY_PER_SEC * dt));
-            } else {
-                currentConc = entry.fertilizerConcentration;
-            }
+            boolean isWet = isWet(block);
+            currentVal = calculateRecovery(data, slot, isWet, now);
+            currentConc = FertilityModel.decayedConcentration(data.getConcentration(slot), data.getLastUpdateTime(slot), isWet, now);
         }
 
         // 2. Add new concentration
@@ -278,6 +299,7 @@ public class FertilityManager implements Listener {
         // 3. Save
         data.setFertilizerData(block.getX() & 15, block.getY(), block.getZ() & 15, currentConc, now);
         data.setBaseData(block.getX() & 15, block.getY(), block.getZ() & 15, currentVal, now);
+        invalidateSoil(block);
         
         updateVisuals(block, currentVal);
     }
@@ -296,26 +318,46 @@ public class FertilityManager implements Listener {
         // Placeholder
     }
 
-    private ChunkFertilityData.Entry getEntry(Block block) {
-        ChunkFertilityData data = getChunkData(block.getChunk());
-        int x = block.getX() & 15;
-        int y = block.getY();
-        int z = block.getZ() & 15;
-        return data.getData(x, y, z);
+    private static boolean isWet(Block block) {
+        return block.getBlockData() instanceof Farmland farmland && farmland.getMoisture() > 0;
+    }
+
+    private ChunkFertilityData getChunkDataAt(World world, int blockX, int blockZ) {
+        return getChunkData(world, blockX >> 4, blockZ >> 4);
     }
 
-    private ChunkFertilityData getChunkData(Chunk chunk) {
-        if (cache.containsKey(chunk)) {
-            return cache.get(chunk);
+    /**
+     * Fertility data of a chunk, loaded from its PDC on first access.
+     * The chunk must be loaded; callers only reach here for blocks they already hold.
+     */
+    public ChunkFertilityData getChunkData(World world, int chunkX, int chunkZ) {
+        LongObjectMap<ChunkFertilityData> worldCache = getWorldCache(world);
+        long key = Chunk.getChunkKey(chunkX, chunkZ);
+        ChunkFertilityData data = worldCache.get(key);
+        if (data != null) {
+            return data;
         }
         
-        PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+        PersistentDataContainer pdc = world.getChunkAt(chunkX, chunkZ).getPersistentDataContainer();
         byte[] bytes = pdc.get(pdcKey, PersistentDataType.BYTE_ARRAY);
-        ChunkFertilityData data = ChunkFertilityData.deserialize(bytes);
-        cache.put(chunk, data);
+        data = ChunkFertilityData.deserialize(bytes);
+        if (data.isTickClock() != clock.isTickBased()) {
+            data.resetClock(clock.isTickBased(), clock.now(world));
+        }
+        worldCache.put(key, data);
         return data;
     }
 
+    private LongObjectMap<ChunkFertilityData> getWorldCache(World world) {
+        if (world == lastWorld) {
+            return lastWorldCache;
+        }
+        LongObjectMap<ChunkFertilityData> worldCache = cache.computeIfAbsent(world.getUID(), k -> new LongObjectMap<>());
+        lastWorld = world;
+        lastWorldCache = worldCache;
+        return worldCache;
+    }
+
     @EventHandler
     public void onChunkLoad(ChunkLoadEvent event) {
         // Load happens lazily
@@ -324,23 +366,67 @@ public class FertilityManager implements Listener {
     @EventHandler
     public void onChunkUnload(ChunkUnloadEvent event) {
         Chunk chunk = event.getChunk();
-        if (cache.containsKey(chunk)) {
-            ChunkFertilityData data = cache.get(chunk);
-            if (data.isDirty()) {
-                chunk.getPersistentDataContainer().set(pdcKey, PersistentDataType.BYTE_ARRAY, data.serialize());
-                data.setClean();
-            }
-            cache.remove(chunk);
+        LongObjectMap<ChunkFertilityData> worldCache = cache.get(chunk.getWorld().getUID());
+        if (worldCache == null) return;
+        
+        ChunkFertilityData data = worldCache.remove(chunk.getChunkKey());
+        if (data != null && data.isDirty()) {
+            flusher.unload(chunk, data);
+        }
+    }
+
+    // --- Efficiency cache invalidation ---
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMoistureChange(MoistureChangeEvent event) {
+        invalidateSoil(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onCropBreak(BlockBreakEvent event) {
+        // Harvest: the biome bonus depends on the crop above the soil.
+        efficiencyCache.invalidate(event.getBlock().getRelative(0, -1, 0));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onCropPlace(BlockPlaceEvent event) {
+        efficiencyCache.invalidate(event.getBlock().getRelative(0, -1, 0));
+    }
+
+    @EventHandler
+    public void onPluginEnable(PluginEnableEvent event) {
+        // BiomeGifts / EarthSpirit bonuses appear or vanish with their plugin.
+        efficiencyCache.clear();
+    }
+
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        efficiencyCache.clear();
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        // Chunks have already been flushed by their unload events; just drop the world's index.
+        cache.remove(event.getWorld().getUID());
+        efficiencyCache.invalidateWorld(event.getWorld());
+        if (lastWorld == event.getWorld()) {
+            lastWorld = null;
+            lastWorldCache = null;
         }
     }
     
+    /**
+     * Write all dirty chunks to their PDC now (used on disable).
+     */
     public void saveAll() {
-        for (Map.Entry<Chunk, ChunkFertilityData> entry : cache.entrySet()) {
-            if (entry.getValue().isDirty()) {
-                entry.getKey().getPersistentDataContainer().set(pdcKey, PersistentDataType.BYTE_ARRAY, entry.getValue().serialize());
-                entry.getValue().setClean();
-            }
-        }
+        flusher.flushAll();
+    }
+
+    /**
+     * Live cache view for {@link FertilityFlusher}. Main thread only.
+     */
+    Map<UUID, LongObjectMap<ChunkFertilityData>> getLoadedData() {
+        return cache;
     }
 
     /**
@@ -369,10 +455,25 @@ public class FertilityManager implements Listener {
         if (soil.getType() != Material.FARMLAND) {
             return new EfficiencyBreakdown(1.0, 0.0, 0.0, 0.0);
         }
-        
-        ChunkFertilityData.Entry entry = getEntry(soil);
-        long now = System.currentTimeMillis();
-        int fertility = (entry != null) ? calculateRecovery(entry, soil, now) : INITIAL_FERTILITY;
+
+        if (!efficiencyCache.isEnabled()) {
+            return computeEfficiencyBreakdown(soil);
+        }
+        // The cache TTL is wall time, independent of the fertility clock.
+        long wallNow = System.currentTimeMillis();
+        EfficiencyBreakdown breakdown = efficiencyCache.get(soil, wallNow);
+        if (breakdown == null) {
+            breakdown = computeEfficiencyBreakdown(soil);
+            efficiencyCache.put(soil, breakdown, wallNow);
+        }
+        return breakdown;
+    }
+
+    private EfficiencyBreakdown computeEfficiencyBreakdown(Block soil) {
+        long now = clock.now(soil.getWorld());
+        ChunkFertilityData data = getChunkDataAt(soil.getWorld(), soil.getX(), soil.getZ());
+        int slot = data.indexOf(soil.getX() & 15, soil.getY(), soil.getZ() & 15);
+        int fertility = (slot >= 0) ? calculateRecovery(data, slot, isWet(soil), now) : INITIAL_FERTILITY;
         
         // Base Efficiency from Fertility: 1.0 + (Fertility * 0.005)
         int effectiveFertility = Math.min(100, Math.max(-100, fertility));
@@ -382,20 +483,15 @@ public class FertilityManager implements Listener {
         double biomeBonus = 0.0;
         double spiritBonus = 0.0;
         
-        try {
-            if (org.bukkit.Bukkit.getPluginManager().isPluginEnabled("BiomeGifts")) {
-                org.bukkit.plugin.Plugin biomePlugin = org.bukkit.Bukkit.getPluginManager().getPlugin("BiomeGifts");
-                Block cropBlock = soil.getRelative(0, 1, 0);
-                if (cropBlock.getBlockData() instanceof Ageable) {
-                     biomeBonus = getBiomeGiftsBonus(biomePlugin, cropBlock);
-                }
+        if (hooks.isBiomeGiftsBound()) {
+            Block cropBlock = soil.getRelative(0, 1, 0);
+            if (cropBlock.getBlockData() instanceof Ageable) {
+                biomeBonus = hooks.getBiomeGiftsBonus(cropBlock);
             }
-            
-            if (org.bukkit.Bukkit.getPluginManager().isPluginEnabled("EarthSpirit")) {
-                spiritBonus = getEarthSpiritBonus(soil.getLocation());
-            }
-        } catch (Exception e) {
-            // Suppress
+        }
+
+        if (hooks.isEarthSpiritBound()) {
+            spiritBonus = hooks.getEarthSpiritBonus(soil.getLocation());
         }
         
         return new EfficiencyBreakdown(baseEfficiency, fertilityBonus, biomeBonus, spiritBonus);
@@ -441,108 +537,21 @@ public class FertilityManager implements Listener {
      * - Penalty:
      *   - If same crop is adjacent (NS/EW) or diagonal: Penalty logic.
      *   - Specifically: If any diagonal same crop OR (EW same AND NS same).
+     * Neighbours in unloaded chunks count as empty; they are never loaded for this.
      */
     public float calculateGrowthPoints(Block cropBlock, Block soilBlock) {
-        float points = 1.0f;
-        
-        // Soil below points
-        if (soilBlock.getType() == Material.FARMLAND) {
-            Farmland farmland = (Farmland) soilBlock.getBlockData();
-            points += (farmland.getMoisture() > 0) ? 3.0f : 1.0f;
-        }
-        
-        // Surrounding blocks (check 8 neighbors of soil)
-        for (int x = -1; x <= 1; x++) {
-            for (int z = -1; z <= 1; z++) {
-                if (x == 0 && z == 0) continue;
-                
-                Block neighborSoil = soilBlock.getRelative(x, 0, z);
-                float neighborPoints = 0.0f;
-                if (neighborSoil.getType() == Material.FARMLAND) {
-                    Farmland f = (Farmland) neighborSoil.getBlockData();
-                    neighborPoints = (f.getMoisture() > 0) ? 0.75f : 0.25f;
-                }
-                points += neighborPoints;
-            }
-        }
-        
-        // Penalty Check (check 8 neighbors of crop)
-        boolean diagonalSame = false;
-        boolean northSouthSame = false;
-        boolean eastWestSame = false;
-        
-        Material cropType = cropBlock.getType();
-        
-        // Diagonals
-        if (isSameCrop(cropBlock.getRelative(-1, 0, -1), cropType) ||
-            isSameCrop(cropBlock.getRelative(-1, 0, 1), cropType) ||
-            isSameCrop(cropBlock.getRelative(1, 0, -1), cropType) ||
-            isSameCrop(cropBlock.getRelative(1, 0, 1), cropType)) {
-            diagonalSame = true;
-        }
-        
-        // Orthogonal
-        if (isSameCrop(cropBlock.getRelative(-1, 0, 0), cropType) || isSameCrop(cropBlock.getRelative(1, 0, 0), cropType)) {
-            eastWestSame = true;
-        }
-        if (isSameCrop(cropBlock.getRelative(0, 0, -1), cropType) || isSameCrop(cropBlock.getRelative(0, 0, 1), cropType)) {
-            northSouthSame = true;
-        }
-        
-        if (diagonalSame || (eastWestSame && northSouthSame)) {
-            points /= 2.0f;
-        }
-        
-        return points;
+        // Served from the section bitmaps; see NeighborhoodIndex.
+        return neighborhoodIndex.growthPoints(cropBlock, soilBlock);
     }
     
-    private boolean isSameCrop(Block block, Material type) {
-        return block.getType() == type;
-    }
-    
-    private double getBiomeGiftsBonus(org.bukkit.plugin.Plugin plugin, Block cropBlock) {
-        try {
-            Method getConfigManager = plugin.getClass().getMethod("getConfigManager");
-            Object configManager = getConfigManager.invoke(plugin);
-            
-            Method getCropConfig = configManager.getClass().getMethod("getCropConfig", Material.class);
-            Object cropConfig = getCropConfig.invoke(configManager, cropBlock.getType());
-            
-            if (cropConfig != null) {
-                String biomeName = cropBlock.getWorld().getBiome(cropBlock.getLocation()).getKey().toString();
-                Method getBiomeType = cropConfig.getClass().getMethod("getBiomeType", String.class);
-                Object typeEnum = getBiomeType.invoke(cropConfig, biomeName);
-                String type = typeEnum.toString();
-                
-                if ("RICH".equals(type)) {
-                    Field richSpeedBonusF = cropConfig.getClass().getField("richSpeedBonus");
-                    return richSpeedBonusF.getDouble(cropConfig); 
-                } else if ("POOR".equals(type)) {
-                    Field poorSpeedPenaltyF = cropConfig.getClass().getField("poorSpeedPenalty");
-                    return -poorSpeedPenaltyF.getDouble(cropConfig);
-                }
-            }
-        } catch (Exception e) {
-            return 0.0;
-        }
-        return 0.0;
+    /**
+     * Build the neighbourhood index of a freshly loaded chunk for crops at the given heights.
+     */
+    public void prepareNeighborhood(Chunk chunk, int[] cropYs) {
+        neighborhoodIndex.prepare(chunk, cropYs);
     }
-    
+
     public double getEarthSpiritBonus(org.bukkit.Location loc) {
-        try {
-            org.bukkit.plugin.Plugin spiritPlugin = org.bukkit.Bukkit.getPluginManager().getPlugin("EarthSpirit");
-            if (spiritPlugin == null) return 0.0;
-            
-            // Access SpiritManager via reflection
-            Method getManager = spiritPlugin.getClass().getMethod("getManager");
-            Object manager = getManager.invoke(spiritPlugin);
-            
-            // Call optimized getSpiritGrowthBonus API
-            Method getBonus = manager.getClass().getMethod("getSpiritGrowthBonus", org.bukkit.Location.class);
-            return (double) getBonus.invoke(manager, loc);
-            
-        } catch (Exception e) {
-            return 0.0;
-        }
+        return hooks.getEarthSpiritBonus(loc);
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.example.cuisinefarming.fertility;
+
+/**
+ * Pure fertility math: concentration decay and fertility recovery over time.
+ *
+ * Shared by the per-block queries in {@link FertilityManager} and the whole-chunk
+ * {@link #settle} pass. Has no Bukkit dependencies, so the scripts/ benchmarks can run it.
+ */
+public final class FertilityModel {
+
+    public static final int MAX_FERTILITY_BASE = 100;
+    public static final int MIN_FERTILITY_BASE = -100;
+    // Max while fertilizer is active but not toxic.
+    public static final int OVERFLOW_FERTILITY_MAX = 150;
+
+    // Concentration Constants
+    public static final double CONC_DECAY_PER_SEC = 1.0 / 60.0; // 1.0 per minute
+    public static final double SAFE_CONC_THRESHOLD = 100.0;
+    public static final double TOXIC_CONC_THRESHOLD = 200.0;
+
+    public static final double K_BASE = 0.002;
+    public static final double K_BONUS_PER_CONC = 0.0001; // 100 conc -> +0.01 (5x base)
+
+    // exp(-x) = exp(-floor(x)) * exp(-frac(x)); the fraction table is interpolated linearly.
+    // Relative error < 1.2e-7, i.e. < 0.0001 fertility points on a 250 point deficit.
+    private static final int EXP_INT_LIMIT = 32; // exp(-32) ~ 1e-14, treated as 0
+    private static final int EXP_FRAC_STEPS = 1024;
+    private static final double[] EXP_INT = new double[EXP_INT_LIMIT];
+    private static final double[] EXP_FRAC = new double[EXP_FRAC_STEPS + 1];
+
+    static {
+        for (int i = 0; i < EXP_INT_LIMIT; i++) {
+            EXP_INT[i] = Math.exp(-i);
+        }
+        for (int i = 0; i <= EXP_FRAC_STEPS; i++) {
+            EXP_FRAC[i] = Math.exp(-(double) i / EXP_FRAC_STEPS);
+        }
+    }
+
+    private FertilityModel() {
+    }
+
+    /**
+     * exp(-x) for x >= 0 via lookup tables.
+     */
+    public static double expNeg(double x) {
+        if (x <= 0) return 1.0;
+        if (x >= EXP_INT_LIMIT) return 0.0;
+        int whole = (int) x;
+        double pos = (x - whole) * EXP_FRAC_STEPS;
+        int idx = (int) pos;
+        double frac = pos - idx;
+        double e = EXP_FRAC[idx] + (EXP_FRAC[idx + 1] - EXP_FRAC[idx]) * frac;
+        return EXP_INT[whole] * e;
+    }
+
+    /**
+     * Concentration after linear decay. Decay only happens on wet soil.
+     */
+    public static double decayedConcentration(double concentration, long lastUpdate, boolean wet, long now) {
+        if (!wet || now <= lastUpdate) return concentration;
+        double dt = (now - lastUpdate) / 1000.0;
+        return Math.max(0, concentration - CONC_DECAY_PER_SEC * dt);
+    }
+
+    /**
+     * Core Logic: Recovery Calculation with Concentration
+     */
+    public static int recover(int current, double concentration, long lastUpdate, boolean wet, long now) {
+        if (now <= lastUpdate) return current;
+
+        // Check moisture
+        if (!wet) return current; // No recovery if dry
+
+        double dt = (now - lastUpdate) / 1000.0;
+
+        // 1. Calculate Average Concentration over dt
+        // Linear Decay: C(t) = C0 - decay * t
+        double decayAmount = CONC_DECAY_PER_SEC * dt;
+        double endConcentration = Math.max(0, concentration - decayAmount);
+
+        double avgConc = (concentration + endConcentration) / 2.0;
+
+        // 2. Determine K (Recovery Rate) based on Average Concentration
+        double k = K_BASE;
+
+        if (avgConc <= SAFE_CONC_THRESHOLD) {
+            // Safe range: Boost K
+            k += avgConc * K_BONUS_PER_CONC;
+        } else {
+            // Toxic range
+            double safeBonus = SAFE_CONC_THRESHOLD * K_BONUS_PER_CONC;
+            double excess = avgConc - SAFE_CONC_THRESHOLD;
+            double penalty = excess * (K_BONUS_PER_CONC * 2.0);
+
+            k = (K_BASE + safeBonus) - penalty;
+        }
+
+        // 3. Apply Formula
+        int max = MAX_FERTILITY_BASE;
+        if (avgConc > 0 && avgConc < TOXIC_CONC_THRESHOLD) {
+            max = OVERFLOW_FERTILITY_MAX;
+        }
+
+        if (k >= 0) {
+            current = applyRecoveryFormula(current, max, k, dt);
+        } else {
+            current = applyRecoveryFormula(current, MIN_FERTILITY_BASE, -k, dt);
+        }
+
+        // Clamp
+        if (current < MIN_FERTILITY_BASE) current = MIN_FERTILITY_BASE;
+
+        return current;
+    }
+
+    private static int applyRecoveryFormula(int current, int target, double k, double t) {
+        if (current == target) return current;
+        double deficit = target - current;
+        double remainingDeficit = deficit * expNeg(k * t);
+        return target - (int) remainingDeficit;
+    }
+
+    /**
+     * Settle every entry of a chunk in one pass over its primitive arrays.
+     * All arrays are indexed by table slot (length {@link ChunkFertilityData#capacity()});
+     * outputs of empty slots are left untouched. Does not modify {@code data}.
+     *
+     * @param wet moisture per slot, e.g. read from a ChunkSnapshot
+     */
+    public static void settle(ChunkFertilityData data, boolean[] wet, long now, int[] outFertility, double[] outConcentration) {
+        int capacity = data.capacity();
+        for (int slot = 0; slot < capacity; slot++) {
+            if (!data.isOccupied(slot)) continue;
+            int current = data.getBaseFertility(slot);
+            double concentration = data.getConcentration(slot);
+            long lastUpdate = data.getLastUpdateTime(slot);
+            boolean isWet = wet[slot];
+            outFertility[slot] = recover(current, concentration, lastUpdate, isWet, now);
+            outConcentration[slot] = decayedConcentration(concentration, lastUpdate, isWet, now);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package com.example.cuisinefarming.fertility;
+
+import com.example.cuisinefarming.CuisineFarming;
+import com.example.cuisinefarming.util.LongObjectMap;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.type.Farmland;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockGrowEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.MoistureChangeEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-chunk-section bitmaps of farmland, wet farmland and crop type, so the vanilla growth
+ * points of a crop can be computed without reading its 17 neighbouring blocks.
+ *
+ * Sections are built from a ChunkSnapshot when a chunk with registered crops loads (see
+ * {@link #prepare}) or the first time a query touches them, and kept up to date from block
+ * change events: affected positions are re-read one tick later, after the change has happened.
+ * Changes made by other plugins without events are picked up when the chunk is rebuilt
+ * ({@code fertility.neighborhood-rebuild-seconds}); a rebuild re-reads the sections in place.
+ * All sections of a chunk built in the same tick share one snapshot, released the next tick.
+ *
+ * Queries never load chunks: positions in unloaded chunks count as neither farmland nor crop.
+ * Main thread only.
+ */
+public class NeighborhoodIndex implements Listener {
+
+    private static final int NONE = 0;
+    private static final int DRY = 1;
+    private static final int WET = 2;
+
+    private static final class Section {
+        final long[] farmland = new long[64];
+        final long[] wet = new long[64];
+        // Crop id per block (see cropId), 0 = not a crop. Allocated with the first crop.
+        byte[] crops;
+
+        void clear() {
+            java.util.Arrays.fill(farmland, 0L);
+            java.util.Arrays.fill(wet, 0L);
+            if (crops != null) java.util.Arrays.fill(crops, (byte) 0);
+        }
+    }
+
+    private static final class ChunkIndex {
+        final Section[] sections;
+        final boolean[] built;
+        long builtAt;
+        // Taken by the first section built this tick; see releaseSnapshots.
+        ChunkSnapshot snapshot;
+
+        ChunkIndex(int sectionCount, long builtAt) {
+            this.sections = new Section[sectionCount];
+            this.built = new boolean[sectionCount];
+            this.builtAt = builtAt;
+        }
+    }
+
+    private static final class WorldIndex {
+        final World world;
+        final int minY;
+        final int sectionCount;
+        final LongObjectMap<ChunkIndex> chunks = new LongObjectMap<>();
+
+        WorldIndex(World world) {
+            this.world = world;
+            this.minY = world.getMinHeight();
+            this.sectionCount = (world.getMaxHeight() - minY) >> 4;
+        }
+    }
+
+    private final long rebuildMillis;
+    private final Map<UUID, WorldIndex> worlds = new HashMap<>();
+    private final List<Block> pendingRefresh = new ArrayList<>();
+    private final List<ChunkIndex> snapshotted = new ArrayList<>();
+
+    // Material ordinal -> crop id; -1 = not computed yet, 0 = not a crop.
+    private final short[] cropIds = new short[Material.values().length];
+    private int nextCropId = 1;
+
+    // Most queries hit the same chunk repeatedly.
+    private WorldIndex lastWorld;
+    private long lastChunkKey;
+    private ChunkIndex lastChunk;
+
+    public NeighborhoodIndex(CuisineFarming plugin) {
+        this.rebuildMillis = Math.max(1L, plugin.getConfig().getLong("fertility.neighborhood-rebuild-seconds", 120L)) * 1000L;
+        java.util.Arrays.fill(cropIds, (short) -1);
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processPending, 1L, 1L);
+    }
+
+    /**
+     * Build the sections holding crops at the given heights (and the farmland below them) of a
+     * chunk that just loaded, from a single snapshot, so the first growth pass finds them built.
+     */
+    public void prepare(Chunk chunk, int[] cropYs) {
+        WorldIndex index = worldIndex(chunk.getWorld());
+        ChunkIndex entry = chunkIndex(index, chunk.getX(), chunk.getZ(), System.currentTimeMillis());
+        if (entry == null) return;
+        for (int y : cropYs) {
+            for (int by = y - 1; by <= y; by++) {
+                int s = (by - index.minY) >> 4;
+                if (by < index.minY || s >= index.sectionCount || entry.built[s]) continue;
+                buildSection(index, entry, chunk.getX(), chunk.getZ(), s);
+            }
+        }
+    }
+
+    /**
+     * Vanilla growth points 'g' of a crop on farmland (see FertilityManager.calculateGrowthPoints).
+     */
+    public float growthPoints(Block cropBlock, Block soilBlock) {
+        WorldIndex index = worldIndex(soilBlock.getWorld());
+        long now = System.currentTimeMillis();
+        int sx = soilBlock.getX(), sy = soilBlock.getY(), sz = soilBlock.getZ();
+
+        float points = 1.0f;
+
+        // Soil below points
+        int soil = farmlandState(index, sx, sy, sz, now);
+        if (soil != NONE) {
+            points += (soil == WET) ? 3.0f : 1.0f;
+        }
+
+        // Surrounding blocks (8 neighbors of soil)
+        for (int x = -1; x <= 1; x++) {
+            for (int z = -1; z <= 1; z++) {
+                if (x == 0 && z == 0) continue;
+                int state = farmlandState(index, sx + x, sy, sz + z, now);
+                if (state == WET) points += 0.75f;
+                else if (state == DRY) points += 0.25f;
+            }
+        }
+
+        // Penalty Check (8 neighbors of crop)
+        int cx = cropBlock.getX(), cy = cropBlock.getY(), cz = cropBlock.getZ();
+        int crop = cropAt(index, cx, cy, cz, now);
+        if (crop == 0) {
+            // Index is behind (e.g. set by another plugin); fix this position from the live block.
+            crop = cropId(cropBlock.getType());
+            refresh(index, cropBlock, now);
+        }
+
+        boolean diagonalSame = crop == cropAt(index, cx - 1, cy, cz - 1, now)
+                || crop == cropAt(index, cx - 1, cy, cz + 1, now)
+                || crop == cropAt(index, cx + 1, cy, cz - 1, now)
+                || crop == cropAt(index, cx + 1, cy, cz + 1, now);
+        boolean eastWestSame = crop == cropAt(index, cx - 1, cy, cz, now) || crop == cropAt(index, cx + 1, cy, cz, now);
+        boolean northSouthSame = crop == cropAt(index, cx, cy, cz - 1, now) || crop == cropAt(index, cx, cy, cz + 1, now);
+
+        if (crop != 0 && (diagonalSame || (eastWestSame && northSouthSame))) {
+            points /= 2.0f;
+        }
+
+        return points;
+    }
+
+    // --- Lookups ---
+
+    private int farmlandState(WorldIndex index, int x, int y, int z, long now) {
+        Section section = section(index, x, y, z, now);
+        if (section == null) return NONE;
+        int bit = bitIndex(x, y, z);
+        long mask = 1L << bit;
+        if ((section.farmland[bit >>> 6] & mask) == 0) return NONE;
+        return (section.wet[bit >>> 6] & mask) != 0 ? WET : DRY;
+    }
+
+    private int cropAt(WorldIndex index, int x, int y, int z, long now) {
+        Section section = section(index, x, y, z, now);
+        if (section == null || section.crops == null) return 0;
+        return section.crops[bitIndex(x, y, z)] & 0xFF;
+    }
+
+    /**
+     * Section containing the block, built on demand. Null if the chunk isn't loaded, the height is
+     * out of range, or the section holds neither farmland nor crops.
+     */
+    private Section section(WorldIndex index, int x, int y, int z, long now) {
+        int s = (y - index.minY) >> 4;
+        if (y < index.minY || s >= index.sectionCount) return null;
+
+        ChunkIndex chunk = chunkIndex(index, x >> 4, z >> 4, now);
+        if (chunk == null) return null;
+        if (!chunk.built[s]) {
+            buildSection(index, chunk, x >> 4, z >> 4, s);
+        }
+        return chunk.sections[s];
+    }
+
+    private ChunkIndex chunkIndex(WorldIndex index, int chunkX, int chunkZ, long now) {
+        long key = Chunk.getChunkKey(chunkX, chunkZ);
+        ChunkIndex chunk;
+        if (index == lastWorld && key == lastChunkKey && lastChunk != null) {
+            chunk = lastChunk;
+        } else {
+            chunk = index.chunks.get(key);
+            if (chunk == null) {
+                if (!index.world.isChunkLoaded(chunkX, chunkZ)) return null;
+                chunk = new ChunkIndex(index.sectionCount, now);
+                index.chunks.put(key, chunk);
+            }
+        }
+
+        if (now - chunk.builtAt > rebuildMillis) {
+            // Rebuild in place: sections are re-read on demand, reusing their arrays.
+            java.util.Arrays.fill(chunk.built, false);
+            chunk.builtAt = now;
+        }
+
+        lastWorld = index;
+        lastChunkKey = key;
+        lastChunk = chunk;
+        return chunk;
+    }
+
+    private void buildSection(WorldIndex index, ChunkIndex chunk, int chunkX, int chunkZ, int s) {
+        chunk.built[s] = true;
+        Section section = chunk.sections[s];
+        chunk.sections[s] = null;
+        ChunkSnapshot snapshot = snapshot(index, chunk, chunkX, chunkZ);
+        if (snapshot.isSectionEmpty(s)) return;
+
+        if (section != null) section.clear();
+        boolean found = false;
+        int baseY = index.minY + (s << 4);
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    Material type = snapshot.getBlockType(x, baseY + y, z);
+                    boolean farmland = type == Material.FARMLAND;
+                    int crop = farmland ? 0 : cropId(type);
+                    if (!farmland && crop == 0) continue;
+
+                    if (section == null) section = new Section();
+                    found = true;
+                    int bit = (y << 8) | (z << 4) | x;
+                    if (farmland) {
+                        section.farmland[bit >>> 6] |= 1L << bit;
+                        if (snapshot.getBlockData(x, baseY + y, z) instanceof Farmland soil && soil.getMoisture() > 0) {
+                            section.wet[bit >>> 6] |= 1L << bit;
+                        }
+                    } else {
+                        if (section.crops == null) section.crops = new byte[4096];
+                        section.crops[bit] = (byte) crop;
+                    }
+                }
+            }
+        }
+        if (found) chunk.sections[s] = section;
+    }
+
+    /** The chunk's snapshot for this tick, taken on first use. */
+    private ChunkSnapshot snapshot(WorldIndex index, ChunkIndex chunk, int chunkX, int chunkZ) {
+        if (chunk.snapshot == null) {
+            chunk.snapshot = index.world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+            snapshotted.add(chunk);
+        }
+        return chunk.snapshot;
+    }
+
+    // --- Updates ---
+
+    /**
+     * Re-read a block (and the one above it, where a crop may have popped off) next tick.
+     */
+    public void markChanged(Block block) {
+        pendingRefresh.add(block);
+        pendingRefresh.add(block.getRelative(0, 1, 0));
+    }
+
+    private void processPending() {
+        // Snapshots only serve the sections built within one tick.
+        if (!snapshotted.isEmpty()) {
+            for (ChunkIndex chunk : snapshotted) chunk.snapshot = null;
+            snapshotted.clear();
+        }
+        if (pendingRefresh.isEmpty()) return;
+        long now = System.currentTimeMillis();
+        for (Block block : pendingRefresh) {
+            WorldIndex index = worlds.get(block.getWorld().getUID());
+            if (index != null) {
+                refresh(index, block, now);
+            }
+        }
+        pendingRefresh.clear();
+    }
+
+    private void refresh(WorldIndex index, Block block, long now) {
+        int x = block.getX(), y = block.getY(), z = block.getZ();
+        int s = (y - index.minY) >> 4;
+        if (y < index.minY || s >= index.sectionCount) return;
+
+        // Only update what has been built; unbuilt sections read the live state when built.
+        ChunkIndex chunk = index.chunks.get(Chunk.getChunkKey(x >> 4, z >> 4));
+        if (chunk == null || !chunk.built[s] || now - chunk.builtAt > rebuildMillis) return;
+        if (!index.world.isChunkLoaded(x >> 4, z >> 4)) return;
+
+        BlockData data = block.getBlockData();
+        Material type = data.getMaterial();
+        boolean farmland = type == Material.FARMLAND;
+        boolean wet = data instanceof Farmland soil && soil.getMoisture() > 0;
+        int crop = farmland ? 0 : cropId(type);
+
+        Section section = chunk.sections[s];
+        if (section == null) {
+            if (!farmland && crop == 0) return;
+            section = new Section();
+            chunk.sections[s] = section;
+        }
+
+        int bit = bitIndex(x, y, z);
+        long mask = 1L << bit;
+        int word = bit >>> 6;
+        section.farmland[word] = farmland ? section.farmland[word] | mask : section.farmland[word] & ~mask;
+        section.wet[word] = wet ? section.wet[word] | mask : section.wet[word] & ~mask;
+        if (crop != 0 && section.crops == null) section.crops = new byte[4096];
+        if (section.crops != null) section.crops[bit] = (byte) crop;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        markChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        markChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockGrow(BlockGrowEvent event) {
+        // Also covers BlockFormEvent/BlockSpreadEvent (e.g. melons and pumpkins appearing).
+        markChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) {
+        // Dry farmland turning back into dirt.
+        markChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMoistureChange(MoistureChangeEvent event) {
+        markChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        // Trampling, ravagers, falling blocks...
+        markChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFlow(BlockFromToEvent event) {
+        // Water washing crops away.
+        markChanged(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        markMoved(event.getBlocks(), event.getDirection());
+        markChanged(event.getBlock().getRelative(event.getDirection()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        markMoved(event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        for (Block block : event.blockList()) markChanged(block);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        for (Block block : event.blockList()) markChanged(block);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTill(PlayerInteractEvent event) {
+        // Tilling has no block event of its own.
+        if (event.getAction() != Action.RIGHT_CLICK_BLOCK || event.getClickedBlock() == null) return;
+        if (event.getItem() == null || !event.getItem().getType().name().endsWith("_HOE")) return;
+        markChanged(event.getClickedBlock());
+    }
+
+    @EventHandler
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        WorldIndex index = worlds.get(event.getWorld().getUID());
+        if (index == null) return;
+        index.chunks.remove(event.getChunk().getChunkKey());
+        if (lastWorld == index && lastChunkKey == event.getChunk().getChunkKey()) {
+            lastChunk = null;
+        }
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        WorldIndex index = worlds.remove(event.getWorld().getUID());
+        if (index != null && lastWorld == index) {
+            lastWorld = null;
+            lastChunk = null;
+        }
+    }
+
+    private void markMoved(List<Block> blocks, BlockFace direction) {
+        for (Block block : blocks) {
+            markChanged(block);
+            markChanged(block.getRelative(direction));
+        }
+    }
+
+    // --- Helpers ---
+
+    private WorldIndex worldIndex(World world) {
+        if (lastWorld != null && lastWorld.world == world) return lastWorld;
+        return worlds.computeIfAbsent(world.getUID(), k -> new WorldIndex(world));
+    }
+
+    private static int bitIndex(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    /**
+     * Small id for Ageable block types, 0 for anything else.
+     */
+    private int cropId(Material type) {
+        int ordinal = type.ordinal();
+        int id = cropIds[ordinal];
+        if (id >= 0) return id;
+
+        id = 0;
+        try {
+            if (type.isBlock() && !type.isLegacy() && nextCropId <= 0xFF && type.createBlockData() instanceof Ageable) {
+                id = nextCropId++;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // Not a placeable block type.
+        }
+        cropIds[ordinal] = (short) id;
+        return id;
+    }
+}
@@ -31,6 +31,9 @@ public class GeneticsManager {
     private final NamespacedKey CHUNK_POLLEN_DATA_KEY;
     private final NamespacedKey STAR_RATING_KEY; // New key for Star-Only items
 
+    // 方块基因/花粉变化回调 (用于失效生长循环中缓存的 CropState)
+    private java.util.function.Consumer<Block> blockDataListener;
+
     public GeneticsManager(CuisineFarming plugin) {
         this.IDENTIFIED_KEY = new NamespacedKey(plugin, "gene_identified");
         this.CHUNK_GENE_DATA_KEY = new NamespacedKey(plugin, "chunk_crop_genes");
@@ -411,11 +414,23 @@ public class GeneticsManager {
     // 方块逻辑 (区块 PDC)
     // ==========================================
 
+    /**
+     * 设置方块基因/花粉写入或移除时的回调。
+     */
+    public void setBlockDataListener(java.util.function.Consumer<Block> blockDataListener) {
+        this.blockDataListener = blockDataListener;
+    }
+
+    private void notifyBlockData(Block block) {
+        if (blockDataListener != null) blockDataListener.accept(block);
+    }
+
     public void saveGenesToBlock(Block block, GeneData data) {
         Chunk chunk = block.getChunk();
         Map<String, GeneData> chunkGenes = loadChunkData(chunk, CHUNK_GENE_DATA_KEY);
         chunkGenes.put(getBlockKey(block), data);
         saveChunkData(chunk, chunkGenes, CHUNK_GENE_DATA_KEY);
+        notifyBlockData(block);
     }
 
     public GeneData getGenesFromBlock(Block block) {
@@ -429,6 +444,7 @@ public class GeneticsManager {
         Map<String, GeneData> chunkGenes = loadChunkData(chunk, CHUNK_GENE_DATA_KEY);
         if (chunkGenes.remove(getBlockKey(block)) != null) {
             saveChunkData(chunk, chunkGenes, CHUNK_GENE_DATA_KEY);
+            notifyBlockData(block);
         }
     }
 
@@ -437,6 +453,7 @@ public class GeneticsManager {
         Map<String, GeneData> chunkPollen = loadChunkData(chunk, CHUNK_POLLEN_DATA_KEY);
         chunkPollen.put(getBlockKey(block), data);
         saveChunkData(chunk, chunkPollen, CHUNK_POLLEN_DATA_KEY);
+        notifyBlockData(block);
     }
 
     public GeneData getPollenFromBlock(Block block) {
@@ -450,6 +467,7 @@ public class GeneticsManager {
         Map<String, GeneData> chunkPollen = loadChunkData(chunk, CHUNK_POLLEN_DATA_KEY);
         if (chunkPollen.remove(getBlockKey(block)) != null) {
             saveChunkData(chunk, chunkPollen, CHUNK_POLLEN_DATA_KEY);
+            notifyBlockData(block);
         }
     }
 
@@ -0,0 +1,303 @@
+package com.example.cuisinefarming.growth;
+
+import com.example.cuisinefarming.util.IntSet;
+import com.example.cuisinefarming.util.LongObjectMap;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.Arrays;
+
+/**
+ * Registered crops of one loaded chunk, plus the per-chunk bookkeeping of the interval engine.
+ * The packed list is persisted in the chunk's PDC so the registry survives unloads and restarts.
+ *
+ * Crops are stored as packed chunk-relative coordinates ({@code y << 8 | z << 4 | x}) in an
+ * {@link IntSet}: 4 bytes plus an index slot per crop instead of a Location and a HashMap node,
+ * and iteration by index allocates nothing. Main thread only.
+ *
+ * Crops at their maximum age are parked in a second set: they stay registered (and persisted)
+ * but the tick loops, which only iterate the active set, skip them. They return to the active
+ * set when re-registered (growth event, replanting) or when a periodic recheck finds them
+ * below their maximum age again.
+ *
+ * For the offline catch-up, each active crop also carries the growth per pass (at a base chance
+ * of 1) last computed by the tick loops, so unloading a chunk needs no efficiency evaluation.
+ */
+public class ChunkCrops {
+
+    private final World world;
+    private final long chunkKey;
+    private final IntSet crops = new IntSet();
+    private final IntSet parked = new IntSet();
+    // Packed crop -> resolved CropState; filled lazily by the tick loops.
+    private final LongObjectMap<CropState> states = new LongObjectMap<>();
+    // Parallel to the dense positions of the active set; NaN until the crop is first evaluated.
+    private float[] passFactors = new float[8];
+    private long lastVisitTick = -1L;
+    private boolean unloaded = false;
+    private boolean dirty = false;
+    private boolean persisted = false;
+    private int passesSinceParkedCheck = 0;
+    // > 0: dormant (outside the chunk gate), passes left until the gate is checked again.
+    private int dormantPasses = 0;
+
+    public ChunkCrops(World world, long chunkKey) {
+        this.world = world;
+        this.chunkKey = chunkKey;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public long getChunkKey() {
+        return chunkKey;
+    }
+
+    public int getChunkX() {
+        return (int) chunkKey;
+    }
+
+    public int getChunkZ() {
+        return (int) (chunkKey >> 32);
+    }
+
+    // --- Crops (world block coordinates in, packed values out) ---
+
+    /**
+     * Register a crop, or move it back to the active set if it was parked. Returns true only
+     * for a newly registered crop.
+     */
+    public boolean add(int x, int y, int z) {
+        int packed = pack(x, y, z);
+        if (parked.remove(packed)) {
+            addActive(packed);
+            return false;
+        }
+        if (!addActive(packed)) return false;
+        dirty = true;
+        return true;
+    }
+
+    public boolean remove(int x, int y, int z) {
+        int packed = pack(x, y, z);
+        int position = crops.indexOf(packed);
+        if (position >= 0) {
+            removeActiveAt(position);
+        } else if (!parked.remove(packed)) {
+            return false;
+        }
+        states.remove(packed);
+        dirty = true;
+        return true;
+    }
+
+    /** Registered, active or parked. */
+    public boolean contains(int x, int y, int z) {
+        int packed = pack(x, y, z);
+        return crops.contains(packed) || parked.contains(packed);
+    }
+
+    /** Number of active crops (the range of {@link #get}). */
+    public int size() {
+        return crops.size();
+    }
+
+    /** No crops registered, active or parked. */
+    public boolean isEmpty() {
+        return crops.isEmpty() && parked.isEmpty();
+    }
+
+    /** Packed active crop at a dense position; see {@link IntSet} for removal during iteration. */
+    public int get(int position) {
+        return crops.get(position);
+    }
+
+    public void removeAt(int position) {
+        states.remove(crops.get(position));
+        removeActiveAt(position);
+        dirty = true;
+    }
+
+    /**
+     * Growth per pass of the active crop at a dense position, at a base chance of 1, as last
+     * recorded by {@link #setPassFactor}; NaN if never recorded.
+     */
+    public float getPassFactor(int position) {
+        return passFactors[position];
+    }
+
+    /** Record the growth per pass of an active crop; ignored for parked or unknown crops. */
+    public void setPassFactor(int packed, float factor) {
+        int position = crops.indexOf(packed);
+        if (position >= 0) passFactors[position] = factor;
+    }
+
+    private boolean addActive(int packed) {
+        if (!crops.add(packed)) return false;
+        int position = crops.size() - 1;
+        if (position == passFactors.length) passFactors = Arrays.copyOf(passFactors, position << 1);
+        passFactors[position] = Float.NaN;
+        return true;
+    }
+
+    /** Mirrors {@link IntSet#removeAt}: the last crop's factor moves with it. */
+    private void removeActiveAt(int position) {
+        int last = crops.size() - 1;
+        crops.removeAt(position);
+        passFactors[position] = passFactors[last];
+    }
+
+    // --- Parked (mature) crops ---
+
+    /** Move the active crop at a dense position to the parked set; the last active crop takes its place. */
+    public void parkAt(int position) {
+        int packed = crops.get(position);
+        removeActiveAt(position);
+        parked.add(packed);
+    }
+
+    public int parkedSize() {
+        return parked.size();
+    }
+
+    public int getParked(int position) {
+        return parked.get(position);
+    }
+
+    /** Move the parked crop at a dense position back to the active set. */
+    public void unparkAt(int position) {
+        addActive(parked.get(position));
+        parked.removeAt(position);
+    }
+
+    public void removeParkedAt(int position) {
+        states.remove(parked.get(position));
+        parked.removeAt(position);
+        dirty = true;
+    }
+
+    /**
+     * Count a pass over the chunk; true every {@code interval} passes, when the parked crops
+     * are due for a recheck. Never true for {@code interval <= 0}.
+     */
+    public boolean parkedCheckDue(int interval) {
+        if (interval <= 0 || parked.isEmpty()) return false;
+        if (++passesSinceParkedCheck < interval) return false;
+        passesSinceParkedCheck = 0;
+        return true;
+    }
+
+    public int blockX(int packed) {
+        return (getChunkX() << 4) | (packed & 15);
+    }
+
+    public int blockY(int packed) {
+        return packed >> 8;
+    }
+
+    public int blockZ(int packed) {
+        return (getChunkZ() << 4) | ((packed >> 4) & 15);
+    }
+
+    public Block getBlock(int packed) {
+        return world.getBlockAt(blockX(packed), blockY(packed), blockZ(packed));
+    }
+
+    // --- Resolved state ---
+
+    /** Cached state of a crop, or null if not resolved yet (or invalidated). */
+    public CropState getState(int packed) {
+        return states.get(packed);
+    }
+
+    public void putState(int packed, CropState state) {
+        if (crops.contains(packed) || parked.contains(packed)) states.put(packed, state);
+    }
+
+    public void invalidateState(int packed) {
+        states.remove(packed);
+    }
+
+    public static int pack(int x, int y, int z) {
+        return (y << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    // --- Persistence ---
+
+    /** Merge a list read from the chunk's PDC; clean unless crops were registered before. */
+    public void load(int[] packed) {
+        boolean merged = !isEmpty();
+        for (int value : packed) {
+            addActive(value);
+        }
+        persisted = true;
+        dirty |= merged;
+    }
+
+    /** Packed crops, active then parked, for the chunk's PDC. */
+    public int[] toArray() {
+        int[] active = crops.toArray();
+        if (parked.isEmpty()) return active;
+        int[] all = Arrays.copyOf(active, active.length + parked.size());
+        for (int i = 0; i < parked.size(); i++) {
+            all[active.length + i] = parked.get(i);
+        }
+        return all;
+    }
+
+    /** Changed since loaded or last saved. */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /** The chunk's PDC currently holds a list for this chunk. */
+    public boolean isPersisted() {
+        return persisted;
+    }
+
+    /** The current contents were written to (or, when empty, removed from) the PDC. */
+    public void markSaved() {
+        dirty = false;
+        persisted = !isEmpty();
+    }
+
+    // --- Interval engine bookkeeping ---
+
+    /** Tick of the last budgeted visit, or -1 before the first. */
+    public long getLastVisitTick() {
+        return lastVisitTick;
+    }
+
+    public void setLastVisitTick(long lastVisitTick) {
+        this.lastVisitTick = lastVisitTick;
+    }
+
+    /** Set when the chunk (or its world) unloads; holders of a stale reference must stop. */
+    public boolean isUnloaded() {
+        return unloaded;
+    }
+
+    public void markUnloaded() {
+        this.unloaded = true;
+    }
+
+    // --- Dormancy (see ChunkGate) ---
+
+    public boolean isDormant() {
+        return dormantPasses > 0;
+    }
+
+    /**
+     * Count a pass of a dormant chunk; true while it stays skipped without a gate check, false
+     * when the gate is due (or the chunk is not dormant).
+     */
+    public boolean skipDormantPass() {
+        return dormantPasses > 0 && --dormantPasses > 0;
+    }
+
+    /** Skip the chunk for {@code passes} passes before checking the gate again; 0 wakes it. */
+    public void setDormant(int passes) {
+        this.dormantPasses = Math.max(0, passes);
+    }
+}
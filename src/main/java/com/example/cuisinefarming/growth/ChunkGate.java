@@ -0,0 +1,109 @@
+package com.example.cuisinefarming.growth;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Decides which loaded chunks get crop acceleration.
+ *
+ * Vanilla only random-ticks chunks within simulation distance of a player; chunks kept loaded by
+ * plugins, spawn chunks and chunks at border load level do not grow crops. {@code loaded}
+ * accelerates every loaded chunk (the previous behaviour), {@code ticking} requires the
+ * {@link Chunk.LoadLevel#ENTITY_TICKING} load level, and {@code players} requires a
+ * non-spectator player within a square chunk radius (the world's simulation distance unless
+ * configured).
+ *
+ * {@code players} snapshots each world's player chunk positions once per tick. Main thread only.
+ */
+public class ChunkGate {
+
+    public enum Mode { LOADED, TICKING, PLAYERS }
+
+    private static final int[] NO_PLAYERS = new int[0];
+
+    private final Mode mode;
+    private final int playerRadius;
+    // World -> interleaved player chunk x/z, rebuilt on the first check of each tick.
+    private final Map<UUID, int[]> players = new HashMap<>();
+    private int tick = Integer.MIN_VALUE;
+
+    /** @param playerRadius chunk radius for {@code players}; 0 = the world's simulation distance */
+    public ChunkGate(Mode mode, int playerRadius) {
+        this.mode = mode;
+        this.playerRadius = Math.max(0, playerRadius);
+    }
+
+    /** Parse a config value; unknown values mean {@code loaded}. */
+    public static Mode parseMode(String value) {
+        if ("ticking".equalsIgnoreCase(value)) return Mode.TICKING;
+        if ("players".equalsIgnoreCase(value)) return Mode.PLAYERS;
+        return Mode.LOADED;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /** Every loaded chunk is accelerated; callers can skip the check. */
+    public boolean isOpen() {
+        return mode == Mode.LOADED;
+    }
+
+    /** Whether the loaded chunk gets acceleration now. */
+    public boolean allows(World world, int chunkX, int chunkZ) {
+        switch (mode) {
+            case TICKING:
+                return world.getChunkAt(chunkX, chunkZ).getLoadLevel() == Chunk.LoadLevel.ENTITY_TICKING;
+            case PLAYERS:
+                return nearPlayer(world, chunkX, chunkZ);
+            default:
+                return true;
+        }
+    }
+
+    // --- Internals ---
+
+    private boolean nearPlayer(World world, int chunkX, int chunkZ) {
+        int now = Bukkit.getCurrentTick();
+        if (now != tick) {
+            tick = now;
+            players.clear();
+        }
+        int[] positions = players.get(world.getUID());
+        if (positions == null) {
+            positions = snapshot(world);
+            players.put(world.getUID(), positions);
+        }
+        int radius = playerRadius > 0 ? playerRadius : world.getSimulationDistance();
+        for (int i = 0; i < positions.length; i += 2) {
+            if (Math.abs(positions[i] - chunkX) <= radius && Math.abs(positions[i + 1] - chunkZ) <= radius) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] snapshot(World world) {
+        List<Player> list = world.getPlayers();
+        if (list.isEmpty()) return NO_PLAYERS;
+        int[] positions = new int[list.size() * 2];
+        int count = 0;
+        for (Player player : list) {
+            if (player.getGameMode() == GameMode.SPECTATOR) continue;
+            Location location = player.getLocation();
+            positions[count++] = location.getBlockX() >> 4;
+            positions[count++] = location.getBlockZ() >> 4;
+        }
+        return count == positions.length ? positions : Arrays.copyOf(positions, count);
+    }
+}
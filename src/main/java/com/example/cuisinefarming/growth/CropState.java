@@ -0,0 +1,50 @@
+package com.example.cuisinefarming.growth;
+
+import com.example.cuisinefarming.genetics.GeneData;
+import com.example.cuisinefarming.genetics.Trait;
+
+/**
+ * Resolved per-crop inputs of the growth model that only change when the crop's genes, pollen
+ * or biome change. Decoding genes means parsing the chunk's whole gene string, so the tick
+ * loops read these precomputed terms instead. Immutable; replaced when invalidated.
+ */
+public final class CropState {
+
+    /** State of a crop without genes or pollen. */
+    public static final CropState PLAIN = new CropState(null, false, 0.0);
+
+    /** Decoded genotype, or null when the crop has no gene data. */
+    public final GeneData genes;
+    public final boolean hasGenes;
+    public final boolean pollinated;
+
+    /** Trait D: concentration tolerance R in {@code 0.01 * C * (1 - C / (2R))}, at least 1. */
+    public final double resistance;
+    /** Trait A: growth speed bonus, phenotype [-10, 10] mapped to [-1, 1]. */
+    public final double growthBonus;
+    /** Trait C bonus minus the biome temperature penalty. */
+    public final double temperatureTerm;
+
+    public CropState(GeneData genes, boolean pollinated, double biomeTemperature) {
+        this.genes = genes;
+        this.hasGenes = genes != null;
+        this.pollinated = pollinated;
+        if (genes == null) {
+            this.resistance = 1.0;
+            this.growthBonus = 0.0;
+            this.temperatureTerm = 0.0;
+            return;
+        }
+        this.resistance = Math.max(1.0, genes.getGenePair(Trait.SOIL_TOLERANCE).getPhenotypeValue() * 40.0);
+        this.growthBonus = genes.getGenePair(Trait.GROWTH_SPEED).getPhenotypeValue() / 10.0;
+        // Plains (0.8) is neutral; each 1.0 of deviation costs 0.5 efficiency, the gene offsets up to 0.5.
+        double tempPenalty = Math.abs(biomeTemperature - 0.8) * 0.5;
+        double tempBonus = genes.getGenePair(Trait.TEMPERATURE_TOLERANCE).getPhenotypeValue() / 20.0;
+        this.temperatureTerm = tempBonus - tempPenalty;
+    }
+
+    /** Active concentration bonus for the crop's tolerance. */
+    public double resistanceBonus(double concentration) {
+        return 0.01 * concentration * (1.0 - concentration / (2.0 * resistance));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.cuisinefarming.growth;
+
+import java.util.Random;
+
+/**
+ * Sampling helpers shared by the growth engines.
+ *
+ * The interval engine rolls {@code extraChance} once per pass: {@code floor(p)} guaranteed
+ * growths plus one more with probability {@code p - floor(p)}. For {@code p < 1} that is a
+ * Bernoulli trial per pass, so the number of passes until the next success is geometric and
+ * can be drawn in one step instead of rolled pass by pass.
+ */
+public final class GrowthSampling {
+
+    private GrowthSampling() {
+    }
+
+    /**
+     * Number of passes until the next success of a per-pass Bernoulli(p) trial, counting the
+     * successful pass (support 1, 2, ...). Returns {@code Long.MAX_VALUE} when {@code p <= 0}.
+     */
+    public static long passesUntilNext(double p, Random random) {
+        if (p >= 1.0) return 1;
+        if (!(p > 0.0)) return Long.MAX_VALUE;
+        double u = 1.0 - random.nextDouble(); // (0, 1]
+        double k = Math.floor(Math.log(u) / Math.log1p(-p));
+        if (k >= Long.MAX_VALUE - 1) return Long.MAX_VALUE;
+        return 1 + (long) k;
+    }
+
+    /**
+     * Growth stages for one pass with chance {@code p}, exactly as the interval engine's
+     * {@code while (extraChance > 0)} loop produces them.
+     */
+    public static int stagesForPass(double p, Random random) {
+        int stages = 0;
+        while (p > 0) {
+            if (random.nextDouble() < p) {
+                stages++;
+                p -= 1.0;
+            } else {
+                break;
+            }
+        }
+        return stages;
+    }
+
+    /**
+     * Total growth stages of {@code passes} consecutive passes with chance {@code p}, stopping
+     * at {@code cap}: the sum of {@link #stagesForPass} over the passes, but drawn with
+     * geometric skips, so the cost is O(result) rather than O(passes).
+     */
+    public static int stagesOver(double p, long passes, int cap, Random random) {
+        if (passes <= 0 || cap <= 0 || !(p > 0.0)) return 0;
+        double whole = Math.floor(p);
+        if (whole * passes >= cap) return cap;
+        int stages = (int) (whole * passes);
+        double fraction = p - whole;
+        long pass = 0;
+        while (stages < cap) {
+            long gap = passesUntilNext(fraction, random);
+            if (gap > passes - pass) break;
+            pass += gap;
+            stages++;
+        }
+        return stages;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.cuisinefarming.growth;
+
+import com.example.cuisinefarming.util.LongObjectMap;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Event-scheduled crop acceleration.
+ *
+ * Instead of rolling {@code extraChance} for every crop every pass, each tracked crop has a
+ * single pending entry in a {@link TimingWheel}: the pass of its next extra growth, drawn from
+ * the geometric distribution of the interval engine's per-pass Bernoulli trial. A tick only
+ * touches crops that are due, so cost scales with growth events rather than crop count.
+ *
+ * Every crop keeps a fixed phase within the 5-tick pass, and all entries land on its pass
+ * slots. A GROW entry is a slot already known to succeed; a REDRAW entry is a slot whose trial
+ * is still open and is drawn when it fires. The chance is re-evaluated whenever the crop fires,
+ * when {@link #invalidate} reports a change to its inputs, and at the latest every refresh
+ * interval. The geometric distribution is memoryless, so throwing a pending draw away and
+ * redrawing from the next open slot keeps the interval engine's statistics exactly. Drift that
+ * raises no event (concentration decay, neighbour changes by other plugins) is picked up within
+ * one refresh interval.
+ *
+ * Main thread only.
+ */
+public class ScheduledGrowthEngine {
+
+    /** Length of one interval-engine pass; the chance model is per pass. */
+    public static final int PASS_TICKS = 5;
+
+    private static final int KIND_REDRAW = 0;
+    private static final int KIND_GROW = 1;
+    private static final int KIND_POLLEN = 2;
+    private static final int KIND_BITS = 2;
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+    /** Per-pass chance of the pollen particle, as in the interval engine. */
+    private static final double POLLEN_CHANCE = 0.3;
+
+    /**
+     * Crop-specific part of the growth model, supplied by the listener that owns the crop rules.
+     */
+    public interface CropModel {
+        /**
+         * Per-pass extra growth chance of the crop (0 when it is not accelerated), or NaN when
+         * the block is no longer an active crop on farmland.
+         */
+        double extraChance(Block crop, Block soil);
+
+        /** Advance the crop by {@code stages} stages (clamped to its maximum age) in one update. */
+        void grow(Block crop, Block soil, int stages);
+
+        boolean isPollinated(Block crop);
+
+        /** Show the pollen effect; returns false once the crop is no longer pollinated. */
+        boolean pollenTick(Block crop);
+    }
+
+    private static final class CropTimer {
+        final World world;
+        final int x;
+        final int y;
+        final int z;
+        final int phase;
+        boolean tracked = true;
+        int generation;
+        long due;
+        boolean pollenScheduled;
+
+        CropTimer(World world, int x, int y, int z, int phase) {
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.phase = phase;
+        }
+    }
+
+    private final CropModel model;
+    private final long refreshPasses;
+    private final Random random = new Random();
+    private final TimingWheel<CropTimer> wheel = new TimingWheel<>(0L);
+    private final Map<UUID, LongObjectMap<CropTimer>> timers = new HashMap<>();
+    private long tick = 0L;
+    private int tracked = 0;
+
+    private long evaluations = 0L;
+    private long growths = 0L;
+
+    public ScheduledGrowthEngine(CropModel model, long refreshTicks) {
+        this.model = model;
+        this.refreshPasses = Math.max(1L, refreshTicks / PASS_TICKS);
+    }
+
+    /** Advance one server tick. */
+    public void tick() {
+        wheel.advance(++tick, this::expire);
+    }
+
+    public void track(Block crop) {
+        LongObjectMap<CropTimer> worldTimers = timers.computeIfAbsent(crop.getWorld().getUID(), k -> new LongObjectMap<>());
+        long key = crop.getBlockKey();
+        if (worldTimers.containsKey(key)) return;
+        // Random phase spreads the crops' slots over the ticks of a pass.
+        CropTimer timer = new CropTimer(crop.getWorld(), crop.getX(), crop.getY(), crop.getZ(), random.nextInt(PASS_TICKS));
+        worldTimers.put(key, timer);
+        tracked++;
+        schedule(timer, KIND_REDRAW, nextSlot(timer, tick));
+    }
+
+    public void untrack(Block crop) {
+        untrack(crop.getWorld(), crop.getBlockKey());
+    }
+
+    public void untrack(World world, int x, int y, int z) {
+        untrack(world, Block.getBlockKey(x, y, z));
+    }
+
+    public void untrackWorld(World world) {
+        LongObjectMap<CropTimer> worldTimers = timers.remove(world.getUID());
+        if (worldTimers == null) return;
+        for (int i = 0; i < worldTimers.capacity(); i++) {
+            if (worldTimers.isOccupied(i)) worldTimers.valueAt(i).tracked = false;
+        }
+        tracked -= worldTimers.size();
+    }
+
+    /**
+     * The crop's efficiency inputs changed: drop its pending draw and redraw at its next slot.
+     */
+    public void invalidate(Block crop) {
+        LongObjectMap<CropTimer> worldTimers = timers.get(crop.getWorld().getUID());
+        if (worldTimers == null) return;
+        CropTimer timer = worldTimers.get(crop.getBlockKey());
+        // Due later this tick (invalidated from inside the advance): it evaluates afresh anyway,
+        // and its slot has not been tried yet.
+        if (timer == null || timer.due == tick) return;
+        schedule(timer, KIND_REDRAW, nextSlot(timer, tick));
+    }
+
+    public int getTrackedCount() {
+        return tracked;
+    }
+
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getGrowths() {
+        return growths;
+    }
+
+    // --- Internals ---
+
+    private void untrack(World world, long key) {
+        LongObjectMap<CropTimer> worldTimers = timers.get(world.getUID());
+        if (worldTimers == null) return;
+        CropTimer timer = worldTimers.remove(key);
+        if (timer == null) return;
+        timer.tracked = false;
+        tracked--;
+        if (worldTimers.isEmpty()) timers.remove(world.getUID());
+    }
+
+    private void expire(CropTimer timer, int tag, long now) {
+        if (!timer.tracked) return;
+        int kind = tag & KIND_MASK;
+        Block crop = timer.world.getBlockAt(timer.x, timer.y, timer.z);
+
+        if (kind == KIND_POLLEN) {
+            timer.pollenScheduled = false;
+            if (model.pollenTick(crop)) schedulePollen(timer, now);
+            return;
+        }
+        if ((tag >>> KIND_BITS) != (timer.generation & (-1 >>> KIND_BITS))) return; // superseded draw
+
+        Block soil = crop.getRelative(0, -1, 0);
+        double chance = model.extraChance(crop, soil);
+        evaluations++;
+        if (Double.isNaN(chance)) {
+            untrack(timer.world, crop.getBlockKey());
+            return;
+        }
+
+        if (!timer.pollenScheduled && model.isPollinated(crop)) {
+            schedulePollen(timer, now);
+        }
+
+        if (kind == KIND_REDRAW) {
+            // This slot is the first trial of the draw.
+            long passes = GrowthSampling.passesUntilNext(chance, random);
+            if (passes > 1) {
+                scheduleAt(timer, now, passes - 1);
+                return;
+            }
+        }
+        if (chance > 0) {
+            int stages = chance < 1.0 ? 1 : GrowthSampling.stagesForPass(chance, random);
+            model.grow(crop, soil, stages);
+            growths += stages;
+        }
+        // Trials restart at the next slot.
+        scheduleAt(timer, now + PASS_TICKS, GrowthSampling.passesUntilNext(chance, random) - 1);
+    }
+
+    /**
+     * Schedule the success {@code offset} passes after {@code firstSlot}; beyond the refresh
+     * horizon, a redraw at the horizon instead (the skipped slots all fail).
+     */
+    private void scheduleAt(CropTimer timer, long firstSlot, long offset) {
+        if (offset >= refreshPasses) {
+            schedule(timer, KIND_REDRAW, firstSlot + refreshPasses * PASS_TICKS);
+        } else {
+            schedule(timer, KIND_GROW, firstSlot + offset * PASS_TICKS);
+        }
+    }
+
+    /** Replace the crop's pending draw. */
+    private void schedule(CropTimer timer, int kind, long due) {
+        timer.generation++;
+        timer.due = due;
+        wheel.schedule(timer, tag(timer, kind), due);
+    }
+
+    /** First pass slot of the crop strictly after {@code now}. */
+    private static long nextSlot(CropTimer timer, long now) {
+        long slot = now + 1;
+        return slot + Math.floorMod(timer.phase - slot, (long) PASS_TICKS);
+    }
+
+    private void schedulePollen(CropTimer timer, long now) {
+        timer.pollenScheduled = true;
+        long passes = GrowthSampling.passesUntilNext(POLLEN_CHANCE, random);
+        wheel.schedule(timer, KIND_POLLEN, now + passes * PASS_TICKS);
+    }
+
+    private static int tag(CropTimer timer, int kind) {
+        return (timer.generation << KIND_BITS) | kind;
+    }
+}
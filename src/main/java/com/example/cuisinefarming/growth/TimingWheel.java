@@ -0,0 +1,159 @@
+package com.example.cuisinefarming.growth;
+
+/**
+ * Hierarchical timing wheel with one-tick resolution.
+ *
+ * Four levels of 64 slots cover 2^24 ticks (about 9.7 days at 20 TPS); anything further out
+ * waits in an overflow list and is re-filed when the top level wraps. Scheduling is O(1),
+ * and {@link #advance} touches only the entries that are due plus the occasional cascade of a
+ * higher-level slot, so per-tick cost scales with expiries rather than with pending entries.
+ *
+ * Entries cannot be cancelled; callers tag them (e.g. with a generation counter) and ignore
+ * stale expiries. Nodes are recycled through a free list. Not thread-safe.
+ */
+public class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int MAX_FREE = 4096;
+
+    @FunctionalInterface
+    public interface Expiry<T> {
+        void expire(T value, int tag, long now);
+    }
+
+    private static final class Node<T> {
+        long due;
+        T value;
+        int tag;
+        Node<T> next;
+    }
+
+    private final Node<T>[][] slots;
+    private Node<T> overflow;
+    private Node<T> free;
+    private int freeCount = 0;
+    private long current;
+    private int size = 0;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long startTick) {
+        this.slots = (Node<T>[][]) new Node<?>[LEVELS][SLOTS];
+        this.current = startTick;
+    }
+
+    /** Last tick processed by {@link #advance}. */
+    public long currentTick() {
+        return current;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedule {@code value} to expire at tick {@code due}. Past or current ticks are moved to
+     * the next tick, so an entry scheduled from inside an expiry never fires in the same pass.
+     */
+    public void schedule(T value, int tag, long due) {
+        Node<T> node = free;
+        if (node != null) {
+            free = node.next;
+            freeCount--;
+        } else {
+            node = new Node<>();
+        }
+        node.due = Math.max(due, current + 1);
+        node.value = value;
+        node.tag = tag;
+        file(node);
+        size++;
+    }
+
+    /**
+     * Process every tick up to and including {@code now}, handing due entries to {@code expiry}.
+     */
+    public void advance(long now, Expiry<T> expiry) {
+        while (current < now) {
+            long tick = ++current;
+            cascade(tick);
+
+            int index = (int) (tick & MASK);
+            Node<T> node = slots[0][index];
+            slots[0][index] = null;
+            while (node != null) {
+                Node<T> next = node.next;
+                T value = node.value;
+                int tag = node.tag;
+                size--;
+                release(node);
+                expiry.expire(value, tag, tick);
+                node = next;
+            }
+        }
+    }
+
+    /** Drop every pending entry. */
+    public void clear() {
+        for (Node<T>[] level : slots) {
+            java.util.Arrays.fill(level, null);
+        }
+        overflow = null;
+        size = 0;
+    }
+
+    // --- Internals ---
+
+    private void cascade(long tick) {
+        if ((tick & ((1L << (BITS * LEVELS)) - 1)) == 0) {
+            Node<T> node = overflow;
+            overflow = null;
+            refile(node);
+        }
+        // Highest level first, so entries land in lower slots that are cascaded next in this tick.
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            if ((tick & ((1L << (BITS * level)) - 1)) != 0) continue;
+            int index = (int) ((tick >>> (BITS * level)) & MASK);
+            Node<T> node = slots[level][index];
+            slots[level][index] = null;
+            refile(node);
+        }
+    }
+
+    private void refile(Node<T> node) {
+        while (node != null) {
+            Node<T> next = node.next;
+            file(node);
+            node = next;
+        }
+    }
+
+    private void file(Node<T> node) {
+        long due = node.due;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * (level + 1);
+            // Lowest level whose enclosing block also contains the current tick.
+            if ((due >>> shift) == (current >>> shift)) {
+                int index = (int) ((due >>> (BITS * level)) & MASK);
+                node.next = slots[level][index];
+                slots[level][index] = node;
+                return;
+            }
+        }
+        node.next = overflow;
+        overflow = node;
+    }
+
+    private void release(Node<T> node) {
+        node.value = null;
+        if (freeCount < MAX_FREE) {
+            node.next = free;
+            free = node;
+            freeCount++;
+        } else {
+            node.next = null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.cuisinefarming.growth;
+
+import org.bukkit.GameRule;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.block.Block;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-world constants of the growth model, so the tick loops read fields instead of querying
+ * game rules and biomes: the random tick speed and the per-pass base chance derived from it,
+ * the dimension, and a lazily filled biome temperature table.
+ *
+ * Immutable apart from the temperature table; a game rule change replaces the profile (keeping
+ * the table, biome temperatures do not change). Main thread only.
+ */
+public final class WorldEnvironment {
+
+    public static final int DEFAULT_RANDOM_TICK_SPEED = 3;
+
+    // Above sea level + 17 the biome temperature drops with height; those lookups bypass the table.
+    private static final int HEIGHT_ADJUSTED_ABOVE = 17;
+
+    private final World world;
+    private final World.Environment environment;
+    private final int randomTickSpeed;
+    private final double baseChance;
+    private final int seaLevel;
+    private final Map<Biome, Double> temperatures;
+
+    private WorldEnvironment(World world, int randomTickSpeed, Map<Biome, Double> temperatures) {
+        this.world = world;
+        this.environment = world.getEnvironment();
+        this.randomTickSpeed = randomTickSpeed;
+        // Vanilla ticks 'speed' random blocks per 4096-block section per tick; one pass is 5 ticks.
+        this.baseChance = (randomTickSpeed / 4096.0) * ScheduledGrowthEngine.PASS_TICKS;
+        this.seaLevel = world.getSeaLevel();
+        this.temperatures = temperatures;
+    }
+
+    /** Read the world's current game rules. */
+    public static WorldEnvironment of(World world) {
+        int speed = DEFAULT_RANDOM_TICK_SPEED;
+        try {
+            Integer rule = world.getGameRuleValue(GameRule.RANDOM_TICK_SPEED);
+            if (rule != null) speed = rule;
+        } catch (Exception ignored) {}
+        return new WorldEnvironment(world, speed, new HashMap<>());
+    }
+
+    /** Same world with a new random tick speed (the game rule is changing to it). */
+    public WorldEnvironment withRandomTickSpeed(int speed) {
+        return new WorldEnvironment(world, speed, temperatures);
+    }
+
+    public World.Environment getEnvironment() {
+        return environment;
+    }
+
+    public int getRandomTickSpeed() {
+        return randomTickSpeed;
+    }
+
+    /** Chance of a vanilla random tick hitting a given block within one 5-tick pass. */
+    public double getBaseChance() {
+        return baseChance;
+    }
+
+    /**
+     * Temperature at the block, as {@link World#getTemperature}. Biomes whose temperature
+     * depends on the position (frozen oceans) and height-adjusted lookups go to the world.
+     */
+    public double temperature(Block block) {
+        if (block.getY() > seaLevel + HEIGHT_ADJUSTED_ABOVE) {
+            return world.getTemperature(block.getX(), block.getY(), block.getZ());
+        }
+        Biome biome = block.getBiome();
+        Double cached = temperatures.get(biome);
+        if (cached != null) return cached;
+        double temperature = world.getTemperature(block.getX(), block.getY(), block.getZ());
+        if (!biome.getKey().getKey().endsWith("frozen_ocean")) {
+            temperatures.put(biome, temperature);
+        }
+        return temperature;
+    }
+}
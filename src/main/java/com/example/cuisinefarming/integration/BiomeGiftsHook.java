@@ -0,0 +1,82 @@
+package com.example.cuisinefarming.integration;
+
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * BiomeGifts crop speed bonus, bound through MethodHandles.
+ *
+ * Call chain: plugin.getConfigManager().getCropConfig(Material).getBiomeType(biomeKey),
+ * then the public field richSpeedBonus / poorSpeedPenalty of the crop config.
+ * The crop config class is only known once we see an instance, so its handles are resolved
+ * on first use and re-resolved if the class changes (BiomeGifts reload).
+ */
+public class BiomeGiftsHook {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    private final MethodHandle getConfigManager; // () -> Object, bound to the plugin
+    private final MethodHandle getCropConfig;    // (Object, Material) -> Object
+
+    private Class<?> cropConfigClass;
+    private MethodHandle getBiomeType;           // (Object, String) -> Object
+    private MethodHandle richSpeedBonus;         // (Object) -> double
+    private MethodHandle poorSpeedPenalty;       // (Object) -> double
+
+    private BiomeGiftsHook(MethodHandle getConfigManager, MethodHandle getCropConfig) {
+        this.getConfigManager = getConfigManager;
+        this.getCropConfig = getCropConfig;
+    }
+
+    static BiomeGiftsHook bind(Plugin plugin) throws ReflectiveOperationException {
+        Method configManagerMethod = plugin.getClass().getMethod("getConfigManager");
+        MethodHandle getConfigManager = LOOKUP.unreflect(configManagerMethod)
+                .bindTo(plugin)
+                .asType(MethodType.methodType(Object.class));
+
+        Method cropConfigMethod = IntegrationHooks.findMethod(configManagerMethod, getConfigManager, "getCropConfig", Material.class);
+        MethodHandle getCropConfig = LOOKUP.unreflect(cropConfigMethod)
+                .asType(MethodType.methodType(Object.class, Object.class, Material.class));
+
+        return new BiomeGiftsHook(getConfigManager, getCropConfig);
+    }
+
+    /**
+     * Speed bonus for the crop at its biome: positive for RICH, negative for POOR, else 0.
+     */
+    public double getSpeedBonus(Block cropBlock) throws Throwable {
+        Object configManager = (Object) getConfigManager.invokeExact();
+        Object cropConfig = (Object) getCropConfig.invokeExact(configManager, cropBlock.getType());
+        if (cropConfig == null) return 0.0;
+
+        if (cropConfig.getClass() != cropConfigClass) {
+            resolveCropConfig(cropConfig.getClass());
+        }
+
+        String biomeName = cropBlock.getWorld().getBiome(cropBlock.getLocation()).getKey().toString();
+        Object typeEnum = (Object) getBiomeType.invokeExact(cropConfig, biomeName);
+        String type = String.valueOf(typeEnum);
+
+        if ("RICH".equals(type)) {
+            return (double) richSpeedBonus.invokeExact(cropConfig);
+        } else if ("POOR".equals(type)) {
+            return -(double) poorSpeedPenalty.invokeExact(cropConfig);
+        }
+        return 0.0;
+    }
+
+    private void resolveCropConfig(Class<?> type) throws ReflectiveOperationException {
+        MethodType getter = MethodType.methodType(double.class, Object.class);
+        getBiomeType = LOOKUP.unreflect(type.getMethod("getBiomeType", String.class))
+                .asType(MethodType.methodType(Object.class, Object.class, String.class));
+        richSpeedBonus = LOOKUP.unreflectGetter(type.getField("richSpeedBonus")).asType(getter);
+        poorSpeedPenalty = LOOKUP.unreflectGetter(type.getField("poorSpeedPenalty")).asType(getter);
+        cropConfigClass = type;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.cuisinefarming.integration;
+
+import org.bukkit.Location;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * EarthSpirit growth bonus, bound through MethodHandles.
+ *
+ * Call chain: plugin.getManager().getSpiritGrowthBonus(Location).
+ */
+public class EarthSpiritHook {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    private final MethodHandle getManager;      // () -> Object, bound to the plugin
+    private final MethodHandle getGrowthBonus;  // (Object, Location) -> double
+
+    private EarthSpiritHook(MethodHandle getManager, MethodHandle getGrowthBonus) {
+        this.getManager = getManager;
+        this.getGrowthBonus = getGrowthBonus;
+    }
+
+    static EarthSpiritHook bind(Plugin plugin) throws ReflectiveOperationException {
+        Method managerMethod = plugin.getClass().getMethod("getManager");
+        MethodHandle getManager = LOOKUP.unreflect(managerMethod)
+                .bindTo(plugin)
+                .asType(MethodType.methodType(Object.class));
+
+        Method bonusMethod = IntegrationHooks.findMethod(managerMethod, getManager, "getSpiritGrowthBonus", Location.class);
+        MethodHandle getGrowthBonus = LOOKUP.unreflect(bonusMethod)
+                .asType(MethodType.methodType(double.class, Object.class, Location.class));
+
+        return new EarthSpiritHook(getManager, getGrowthBonus);
+    }
+
+    public double getGrowthBonus(Location loc) throws Throwable {
+        Object manager = (Object) getManager.invokeExact();
+        if (manager == null) return 0.0;
+        return (double) getGrowthBonus.invokeExact(manager, loc);
+    }
+}
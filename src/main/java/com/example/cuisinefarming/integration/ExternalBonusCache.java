@@ -0,0 +1,189 @@
+package com.example.cuisinefarming.integration;
+
+import com.example.cuisinefarming.util.LongObjectMap;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cache of BiomeGifts and EarthSpirit growth modifiers.
+ *
+ * BiomeGifts bonuses depend on the biome and the crop, so they are keyed by 4x4x4 biome cell
+ * and crop Material. EarthSpirit bonuses depend on spirit territory, which is chunk-based, so
+ * they are keyed by chunk. Entries are recomputed after {@code refreshMillis}.
+ *
+ * External plugins can drop stale values through the invalidate methods, e.g.
+ * {@code CuisineFarming.getInstance().getIntegrationHooks().getBonusCache().invalidateEarthSpirit()}
+ * after a territory change. Main thread only.
+ */
+public class ExternalBonusCache {
+
+    private static final class Entry {
+        double value;
+        long expiresAt;
+    }
+
+    // Would be cellX = -2^23, i.e. a block 33M out, beyond the world border.
+    private static final long UNCACHEABLE = Long.MIN_VALUE;
+
+    private final long refreshMillis;
+    private final Map<UUID, LongObjectMap<Entry>> biomeEntries = new HashMap<>();
+    private final Map<UUID, LongObjectMap<Entry>> spiritEntries = new HashMap<>();
+    // Crops get a compact id so the material fits into the cell key.
+    private final EnumMap<Material, Integer> materialIds = new EnumMap<>(Material.class);
+
+    public ExternalBonusCache(long refreshMillis) {
+        this.refreshMillis = refreshMillis;
+    }
+
+    public boolean isEnabled() {
+        return refreshMillis > 0;
+    }
+
+    // --- Lookup ---
+
+    /**
+     * Cached BiomeGifts value, or NaN if it has to be (re)computed.
+     */
+    double getBiome(World world, int x, int y, int z, Material crop, long now) {
+        long key = biomeKey(x, y, z, crop);
+        if (key == UNCACHEABLE) return Double.NaN;
+        return read(biomeEntries.get(world.getUID()), key, now);
+    }
+
+    void putBiome(World world, int x, int y, int z, Material crop, double value, long now) {
+        long key = biomeKey(x, y, z, crop);
+        if (key == UNCACHEABLE) return;
+        write(biomeEntries.computeIfAbsent(world.getUID(), k -> new LongObjectMap<>()), key, value, now);
+    }
+
+    /**
+     * Cached EarthSpirit value, or NaN if it has to be (re)computed.
+     */
+    double getSpirit(World world, int chunkX, int chunkZ, long now) {
+        return read(spiritEntries.get(world.getUID()), chunkKey(chunkX, chunkZ), now);
+    }
+
+    void putSpirit(World world, int chunkX, int chunkZ, double value, long now) {
+        write(spiritEntries.computeIfAbsent(world.getUID(), k -> new LongObjectMap<>()), chunkKey(chunkX, chunkZ), value, now);
+    }
+
+    // --- Invalidation hooks ---
+
+    public void invalidateBiomeGifts() {
+        biomeEntries.clear();
+    }
+
+    public void invalidateEarthSpirit() {
+        spiritEntries.clear();
+    }
+
+    /**
+     * Drop all cached values inside a chunk (e.g. a spirit claimed or left it, or its biome changed).
+     */
+    public void invalidateChunk(World world, int chunkX, int chunkZ) {
+        LongObjectMap<Entry> spirit = spiritEntries.get(world.getUID());
+        if (spirit != null) spirit.remove(chunkKey(chunkX, chunkZ));
+
+        LongObjectMap<Entry> biome = biomeEntries.get(world.getUID());
+        if (biome == null) return;
+        long[] doomed = new long[biome.size()];
+        int n = 0;
+        for (int i = 0; i < biome.capacity(); i++) {
+            if (!biome.isOccupied(i)) continue;
+            long key = biome.keyAt(i);
+            // Cell coordinates are block >> 2, chunk coordinates block >> 4.
+            int cellX = (int) (key >> 40);
+            int cellZ = (int) (key << 24 >> 40);
+            if (cellX >> 2 == chunkX && cellZ >> 2 == chunkZ) {
+                doomed[n++] = key;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            biome.remove(doomed[i]);
+        }
+    }
+
+    public void invalidateWorld(World world) {
+        biomeEntries.remove(world.getUID());
+        spiritEntries.remove(world.getUID());
+    }
+
+    public void invalidateAll() {
+        biomeEntries.clear();
+        spiritEntries.clear();
+    }
+
+    /**
+     * Drop expired entries of areas nobody is farming anymore.
+     */
+    public void purgeExpired(long now) {
+        purge(biomeEntries, now);
+        purge(spiritEntries, now);
+    }
+
+    public int size() {
+        int size = 0;
+        for (LongObjectMap<Entry> map : biomeEntries.values()) size += map.size();
+        for (LongObjectMap<Entry> map : spiritEntries.values()) size += map.size();
+        return size;
+    }
+
+    // --- Internals ---
+
+    private double read(LongObjectMap<Entry> map, long key, long now) {
+        if (map == null) return Double.NaN;
+        Entry entry = map.get(key);
+        if (entry == null || entry.expiresAt <= now) return Double.NaN;
+        return entry.value;
+    }
+
+    private void write(LongObjectMap<Entry> map, long key, double value, long now) {
+        Entry entry = map.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            map.put(key, entry);
+        }
+        entry.value = value;
+        entry.expiresAt = now + refreshMillis;
+    }
+
+    private static void purge(Map<UUID, LongObjectMap<Entry>> entries, long now) {
+        for (LongObjectMap<Entry> map : entries.values()) {
+            long[] expired = new long[map.size()];
+            int n = 0;
+            for (int i = 0; i < map.capacity(); i++) {
+                if (map.isOccupied(i) && map.valueAt(i).expiresAt <= now) {
+                    expired[n++] = map.keyAt(i);
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                map.remove(expired[i]);
+            }
+        }
+    }
+
+    /**
+     * cellX (24 bit) | cellZ (24 bit) | cellY (8 bit) | crop id (8 bit); UNCACHEABLE once 256 crop types are in use.
+     */
+    private long biomeKey(int x, int y, int z, Material crop) {
+        Integer id = materialIds.get(crop);
+        if (id == null) {
+            if (materialIds.size() > 0xFF) return UNCACHEABLE;
+            id = materialIds.size();
+            materialIds.put(crop, id);
+        }
+        long cellX = (x >> 2) & 0xFFFFFFL;
+        long cellZ = (z >> 2) & 0xFFFFFFL;
+        long cellY = (y >> 2) & 0xFFL;
+        return (cellX << 40) | (cellZ << 16) | (cellY << 8) | id;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkZ << 32) | (chunkX & 0xFFFFFFFFL);
+    }
+}
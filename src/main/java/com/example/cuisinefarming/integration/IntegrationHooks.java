@@ -0,0 +1,183 @@
+package com.example.cuisinefarming.integration;
+
+import com.example.cuisinefarming.CuisineFarming;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.util.logging.Level;
+
+/**
+ * Hooks into BiomeGifts and EarthSpirit.
+ *
+ * Method handles are resolved once when the dependency enables and dropped when it disables,
+ * so a reload rebinds against the new plugin instance. While a dependency is absent (or
+ * failed to bind) its bonus is a plain 0.0 without any lookups.
+ *
+ * Bonuses are served from an {@link ExternalBonusCache}, so the dependencies are only asked
+ * once per biome cell / chunk per refresh interval.
+ */
+public class IntegrationHooks implements Listener {
+
+    public static final String BIOME_GIFTS = "BiomeGifts";
+    public static final String EARTH_SPIRIT = "EarthSpirit";
+
+    private final CuisineFarming plugin;
+    private final ExternalBonusCache bonusCache;
+    private BiomeGiftsHook biomeGifts;
+    private EarthSpiritHook earthSpirit;
+
+    public IntegrationHooks(CuisineFarming plugin) {
+        this.plugin = plugin;
+        this.bonusCache = new ExternalBonusCache(plugin.getConfig().getLong("integration.bonus-cache-refresh-seconds", 60L) * 1000L);
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        if (bonusCache.isEnabled()) {
+            plugin.getServer().getScheduler().runTaskTimer(plugin, () -> bonusCache.purgeExpired(System.currentTimeMillis()), 1200L, 1200L);
+        }
+
+        // Dependencies enable before us, so their enable events have already fired.
+        for (String name : new String[]{BIOME_GIFTS, EARTH_SPIRIT}) {
+            Plugin dependency = plugin.getServer().getPluginManager().getPlugin(name);
+            if (dependency != null && dependency.isEnabled()) {
+                bind(dependency);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPluginEnable(PluginEnableEvent event) {
+        bind(event.getPlugin());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPluginDisable(PluginDisableEvent event) {
+        String name = event.getPlugin().getName();
+        if (BIOME_GIFTS.equals(name)) {
+            biomeGifts = null;
+            bonusCache.invalidateBiomeGifts();
+        } else if (EARTH_SPIRIT.equals(name)) {
+            earthSpirit = null;
+            bonusCache.invalidateEarthSpirit();
+        }
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent event) {
+        bonusCache.invalidateWorld(event.getWorld());
+    }
+
+    private void bind(Plugin dependency) {
+        String name = dependency.getName();
+        try {
+            if (BIOME_GIFTS.equals(name)) {
+                biomeGifts = BiomeGiftsHook.bind(dependency);
+                bonusCache.invalidateBiomeGifts();
+            } else if (EARTH_SPIRIT.equals(name)) {
+                earthSpirit = EarthSpiritHook.bind(dependency);
+                bonusCache.invalidateEarthSpirit();
+            } else {
+                return;
+            }
+            plugin.getLogger().info("Hooked into " + name + ".");
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to hook into " + name + ", its bonus will be ignored.", e);
+        }
+    }
+
+    public ExternalBonusCache getBonusCache() {
+        return bonusCache;
+    }
+
+    public boolean isBiomeGiftsBound() {
+        return biomeGifts != null;
+    }
+
+    public boolean isEarthSpiritBound() {
+        return earthSpirit != null;
+    }
+
+    /**
+     * BiomeGifts speed bonus for a crop block, 0.0 if unavailable.
+     */
+    public double getBiomeGiftsBonus(Block cropBlock) {
+        BiomeGiftsHook hook = biomeGifts;
+        if (hook == null) return 0.0;
+        if (!bonusCache.isEnabled()) return callBiomeGifts(hook, cropBlock);
+
+        long now = System.currentTimeMillis();
+        World world = cropBlock.getWorld();
+        Material crop = cropBlock.getType();
+        double bonus = bonusCache.getBiome(world, cropBlock.getX(), cropBlock.getY(), cropBlock.getZ(), crop, now);
+        if (Double.isNaN(bonus)) {
+            bonus = callBiomeGifts(hook, cropBlock);
+            bonusCache.putBiome(world, cropBlock.getX(), cropBlock.getY(), cropBlock.getZ(), crop, bonus, now);
+        }
+        return bonus;
+    }
+
+    /**
+     * EarthSpirit growth bonus at a location, 0.0 if unavailable.
+     */
+    public double getEarthSpiritBonus(Location loc) {
+        EarthSpiritHook hook = earthSpirit;
+        if (hook == null) return 0.0;
+        if (!bonusCache.isEnabled()) return callEarthSpirit(hook, loc);
+
+        // Territory is chunk-based: the first location asked in a chunk stands for all of it.
+        long now = System.currentTimeMillis();
+        World world = loc.getWorld();
+        int chunkX = loc.getBlockX() >> 4;
+        int chunkZ = loc.getBlockZ() >> 4;
+        double bonus = bonusCache.getSpirit(world, chunkX, chunkZ, now);
+        if (Double.isNaN(bonus)) {
+            bonus = callEarthSpirit(hook, loc);
+            bonusCache.putSpirit(world, chunkX, chunkZ, bonus, now);
+        }
+        return bonus;
+    }
+
+    private static double callBiomeGifts(BiomeGiftsHook hook, Block cropBlock) {
+        try {
+            return hook.getSpeedBonus(cropBlock);
+        } catch (Throwable e) {
+            return 0.0;
+        }
+    }
+
+    private static double callEarthSpirit(EarthSpiritHook hook, Location loc) {
+        try {
+            return hook.getGrowthBonus(loc);
+        } catch (Throwable e) {
+            return 0.0;
+        }
+    }
+
+    /**
+     * Resolve on the declared return type, falling back to the runtime class of the current
+     * instance when the declared type doesn't expose the method.
+     */
+    static Method findMethod(Method owner, MethodHandle ownerGetter, String name, Class<?>... params) throws ReflectiveOperationException {
+        try {
+            return owner.getReturnType().getMethod(name, params);
+        } catch (NoSuchMethodException e) {
+            Object instance;
+            try {
+                instance = (Object) ownerGetter.invokeExact();
+            } catch (Throwable t) {
+                throw new ReflectiveOperationException(t);
+            }
+            if (instance == null) throw e;
+            return instance.getClass().getMethod(name, params);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.cuisinefarming.listeners;
 
 import com.example.cuisinefarming.CuisineFarming;
+import com.example.cuisinefarming.fertility.ChunkFertilityData;
 import com.example.cuisinefarming.fertility.FertilityManager;
 import com.example.cuisinefarming.genetics.Allele;
 import com.example.cuisinefarming.genetics.GeneData;
@@ -11,6 +12,7 @@ import com.example.cuisinefarming.cooking.CookingRecipe;
 import com.example.cuisinefarming.cooking.FoodTag;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -46,6 +48,7 @@ public class DebugListener implements Listener {
 
     public enum DebugMode {
         INSPECT("Inspect (查看信息)"),
+        INSPECT_CHUNK("Inspect Chunk (区块肥力概览)"),
         RANDOMIZE_HAND("Randomize Hand (随机基因)"),
         IDENTIFY_HAND("Identify Hand (鉴定手持)"),
         GIVE_SEED_DEFAULT("Give Seed: Default (普通 A1/a1)"),
@@ -125,6 +128,11 @@ public class DebugListener implements Listener {
                 }
                 break;
                 
+            case INSPECT_CHUNK:
+                if (clickedBlock != null) inspectChunkFertility(player, clickedBlock);
+                else player.sendMessage("§cClick a block!");
+                break;
+
             case RANDOMIZE_HAND:
                 randomizeHand(player);
                 break;
@@ -185,6 +193,37 @@ public class DebugListener implements Listener {
         }
     }
 
+    private void inspectChunkFertility(Player player, Block clickedBlock) {
+        Chunk chunk = clickedBlock.getChunk();
+        FertilityManager.ChunkReadout readout = fertilityManager.settleChunk(chunk.getWorld(), chunk.getChunkSnapshot());
+
+        player.sendMessage(Component.text("§b[区块肥力概览] §7(" + chunk.getX() + ", " + chunk.getZ() + ")"));
+        if (readout.count == 0) {
+            player.sendMessage(Component.text("  §7该区块没有记录的耕地"));
+            return;
+        }
+
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE, wetCount = 0, overdosed = 0, toxic = 0;
+        long sum = 0;
+        for (int i = 0; i < readout.count; i++) {
+            int f = readout.fertility[i];
+            sum += f;
+            min = Math.min(min, f);
+            max = Math.max(max, f);
+            if (readout.wet[i]) wetCount++;
+            if (readout.concentration[i] > 200) toxic++;
+            else if (readout.concentration[i] > 100) overdosed++;
+        }
+
+        player.sendMessage(Component.text("  §7耕地数量: §f" + readout.count + " §7(湿润 " + wetCount + ")"));
+        player.sendMessage(Component.text("  §7肥力: §e平均 " + String.format("%.1f", (double) sum / readout.count) + " §7| 最低 §c" + min + " §7| 最高 §a" + max));
+        player.sendMessage(Component.text("  §7过量施肥: §c" + overdosed + " §7| 剧毒: §4" + toxic));
+
+        com.example.cuisinefarming.fertility.EfficiencyCache cache = fertilityManager.getEfficiencyCache();
+        player.sendMessage(Component.text("  §7效率缓存: §f" + cache.size() + " 条 §7| 命中 " + cache.getHits() + " / 未命中 " + cache.getMisses()
+                + " §7(" + String.format("%.1f%%", cache.getHitRate() * 100) + ")"));
+    }
+
     private void testRecipeMatch(Player player) {
         List<ItemStack> ingredients = new ArrayList<>();
         
@@ -606,17 +645,10 @@ public class DebugListener implements Listener {
 
     private void setConcentration(Player player, Block block, double amount) {
         try {
-            Method getChunkDataMethod = FertilityManager.class.getDeclaredMethod("getChunkData", org.bukkit.Chunk.class);
-            getChunkDataMethod.setAccessible(true);
-            Object chunkDataObj = getChunkDataMethod.invoke(fertilityManager, block.getChunk());
-            
-            // Assuming ChunkFertilityData class name, might need adjustment if it's different
-            // But based on previous code it seemed fine.
-            // Using reflection to be safe if class is not visible
-            Method setFertilizerData = chunkDataObj.getClass().getMethod("setFertilizerData", int.class, int.class, int.class, double.class, long.class);
+            ChunkFertilityData chunkData = fertilityManager.getChunkData(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
             
-            long now = System.currentTimeMillis();
-            setFertilizerData.invoke(chunkDataObj, block.getX() & 15, block.getY(), block.getZ() & 15, amount, now);
+            long now = fertilityManager.getClock().now(block.getWorld());
+            chunkData.setFertilizerData(block.getX() & 15, block.getY(), block.getZ() & 15, amount, now);
             
             player.sendMessage("§a[Debug] Set Soil Concentration to " + amount);
         } catch (Exception e) {
@@ -1,7 +1,15 @@
 package com.example.cuisinefarming.listeners;
 
 import com.example.cuisinefarming.CuisineFarming;
+import com.example.cuisinefarming.effects.EffectService;
 import com.example.cuisinefarming.fertility.FertilityManager;
+import com.example.cuisinefarming.growth.ChunkCrops;
+import com.example.cuisinefarming.growth.ChunkGate;
+import com.example.cuisinefarming.growth.CropState;
+import com.example.cuisinefarming.growth.GrowthSampling;
+import com.example.cuisinefarming.growth.ScheduledGrowthEngine;
+import com.example.cuisinefarming.growth.WorldEnvironment;
+import com.example.cuisinefarming.util.LongObjectMap;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Material;
 import org.bukkit.Particle;
@@ -25,7 +33,6 @@ import org.bukkit.metadata.FixedMetadataValue;
 
 import com.example.cuisinefarming.genetics.GeneData;
 import com.example.cuisinefarming.genetics.GeneticsManager;
-import com.example.cuisinefarming.genetics.Trait;
 
 /**
  * 农业核心监听器
@@ -44,25 +51,109 @@ public class FarmingListener implements Listener {
     private final CuisineFarming plugin;
     private final FertilityManager fertilityManager;
     private final GeneticsManager geneticsManager;
+    private final EffectService effects;
     private final Random random = new Random();
     
     private static final String BONEMEAL_METADATA_KEY = "bonemealed";
 
     // 主动生长的注册表 (平滑生长)
-    // 键: 区块Key (Long), 值: 作物位置集合
-    private final java.util.Map<Long, java.util.Set<org.bukkit.Location>> cropRegistry = new java.util.HashMap<>();
+    // 按世界划分: 世界UID -> (区块Key -> 区块作物, 坐标压缩为 int)
+    // 区块卸载时整块移除，所以注册表中只有已加载区块的作物
+    private final java.util.Map<java.util.UUID, LongObjectMap<ChunkCrops>> cropRegistry = new java.util.HashMap<>();
+    // tickCrops 一轮的区块快照 (复用)
+    private final java.util.ArrayList<ChunkCrops> passChunks = new java.util.ArrayList<>();
+
+    // 注册表随区块持久化 (区块 PDC, 压缩坐标 int[])，区块重新加载/重启后立即恢复加速
+    private final org.bukkit.NamespacedKey registryKey;
+
+    // 离线补偿 (growth.catch-up-max-stages > 0): 卸载时记录每株作物每轮的生长概率与时间，
+    // 重新加载时按经过的轮数抽样补算，一次性应用。0 = 关闭
+    private final org.bukkit.NamespacedKey catchUpKey;
+    private final org.bukkit.NamespacedKey catchUpTimeKey;
+    private final int catchUpMaxStages;
+
+    // 事件调度生长引擎 (growth.engine: scheduled)。为 null 时使用每 5 tick 遍历的间隔引擎
+    private final ScheduledGrowthEngine scheduledEngine;
+
+    // 间隔引擎的预算模式 (growth.budget-micros > 0):
+    // 每 tick 最多处理 budgetNanos，游标跨 tick 续跑，按区块轮询。
+    private static final int PASS_TICKS = ScheduledGrowthEngine.PASS_TICKS;
+    private final long budgetNanos;
+
+    // 成熟作物停放 (见 ChunkCrops): tickCrop 的结果，以及停放作物的兜底复查间隔 (轮数，0 = 不复查)
+    private static final int CROP_ACTIVE = 0;
+    private static final int CROP_PARK = 1;
+    private static final int CROP_REMOVE = 2;
+    private final int parkedRecheckPasses;
+
+    // 模拟距离门控 (growth.active-chunks): 不满足的区块休眠，每 DORMANT_RECHECK_PASSES 轮才重新检查一次
+    private static final int DORMANT_RECHECK_PASSES = 4;
+    private final ChunkGate chunkGate;
+
+    // 每个世界的环境常量 (随机刻速度/基础概率/群系温度表)，世界加载与游戏规则变化时刷新
+    private final java.util.Map<java.util.UUID, WorldEnvironment> environments = new java.util.HashMap<>();
+
+    // 抽样模式 (growth.samples-per-chunk > 0): 每轮每个区块只随机访问 k 株作物，概率按 N/k 放大
+    private final int samplesPerChunk;
+    private long sampledPasses = 0;
+    private long sampledVisits = 0;
+    private long skippedVisits = 0;
+    private long budgetTick = 0;
+    private long roundStartTick = Long.MIN_VALUE;
+    private final java.util.ArrayList<ChunkCrops> round = new java.util.ArrayList<>();
+    private int roundIndex = 0;
+    private ChunkCrops cursorChunk;
+    private int cursorIndex;
+    private double cursorBaseChance;
 
     public FarmingListener(CuisineFarming plugin) {
         this.plugin = plugin;
         this.fertilityManager = plugin.getFertilityManager();
+        this.effects = plugin.getEffectService();
         this.geneticsManager = plugin.getGeneticsManager();
+        this.registryKey = new org.bukkit.NamespacedKey(plugin, "crop_registry");
+        this.catchUpKey = new org.bukkit.NamespacedKey(plugin, "crop_catchup");
+        this.catchUpTimeKey = new org.bukkit.NamespacedKey(plugin, "crop_catchup_time");
+        this.catchUpMaxStages = Math.max(0, plugin.getConfig().getInt("growth.catch-up-max-stages", 0));
+        this.parkedRecheckPasses = Math.max(0, plugin.getConfig().getInt("growth.mature-recheck-seconds", 30)) * 20 / PASS_TICKS;
+        this.chunkGate = new ChunkGate(ChunkGate.parseMode(plugin.getConfig().getString("growth.active-chunks", "loaded")),
+                plugin.getConfig().getInt("growth.player-chunk-radius", 0));
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
+
+        if ("scheduled".equalsIgnoreCase(plugin.getConfig().getString("growth.engine", "interval"))) {
+            long refreshTicks = Math.max(1L, plugin.getConfig().getLong("growth.refresh-seconds", 30L)) * 20L;
+            this.scheduledEngine = new ScheduledGrowthEngine(new ScheduledCropModel(), refreshTicks);
+            // 土壤肥力/浓度/湿度变化 -> 重新抽取上方作物的下次生长时间
+            fertilityManager.setSoilChangeListener(soil -> scheduledEngine.invalidate(soil.getRelative(0, 1, 0)));
+        } else {
+            this.scheduledEngine = null;
+        }
+        this.budgetNanos = Math.max(0L, plugin.getConfig().getLong("growth.budget-micros", 0L)) * 1000L;
+        int samples = Math.max(0, plugin.getConfig().getInt("growth.samples-per-chunk", 0));
+        if (samples > 0 && (scheduledEngine != null || budgetNanos > 0)) {
+            plugin.getLogger().warning("growth.samples-per-chunk only applies to the plain interval engine; ignored.");
+            samples = 0;
+        }
+        this.samplesPerChunk = samples;
+        geneticsManager.setBlockDataListener(this::onCropDataChanged);
         
         // 启动主动生长任务
         startGrowthTask();
     }
 
     private void startGrowthTask() {
+        if (scheduledEngine != null) {
+            // 调度引擎: 每 tick 只处理到期的作物
+            plugin.getServer().getScheduler().runTaskTimer(plugin, scheduledEngine::tick, 1L, 1L);
+            return;
+        }
+
+        if (budgetNanos > 0) {
+            // 预算模式: 每 tick 处理一段，避免每 5 tick 一次的 MSPT 尖峰
+            plugin.getServer().getScheduler().runTaskTimer(plugin, this::tickCropsBudgeted, 1L, 1L);
+            return;
+        }
+
         // 每 5 tick 运行一次 (0.25 秒)
         // 这平衡了 "视觉平滑度" 和 "服务器性能"。
         // 5 tick 足够快以感觉随机，但相比 1 tick 减少了 80% 的 CPU 开销。
@@ -75,138 +166,415 @@ public class FarmingListener implements Listener {
     }
 
     private void tickCrops() {
-        // 遍历所有加载的区块
-        for (org.bukkit.Chunk chunk : plugin.getServer().getWorld("world").getLoadedChunks()) { // 如果需要支持多世界，请调整
-            long chunkKey = chunk.getChunkKey();
-            java.util.Set<org.bukkit.Location> crops = cropRegistry.get(chunkKey);
-            
-            if (crops == null || crops.isEmpty()) continue;
-            
-            // 获取世界规则 Random Tick Speed (动态)
-            int randomTickSpeed = 3;
-            try {
-                Integer rule = chunk.getWorld().getGameRuleValue(org.bukkit.GameRule.RANDOM_TICK_SPEED);
-                if (rule != null) randomTickSpeed = rule;
-            } catch (Exception ignored) {}
-            
-            // 每个 tick 每个方块的基础概率 (原版逻辑)
-            // 原版检查每个 section (4096方块) 'Speed' 个方块。
-            // P = Speed / 4096.0
-            // 我们每 5 tick 运行一次，所以乘以 5 以保持相同的平均速率。
-            double baseChance = (randomTickSpeed / 4096.0) * 5.0;
-
-            // 遍历该区块中的作物
-            // 使用迭代器以允许安全移除
-            java.util.Iterator<org.bukkit.Location> iterator = crops.iterator();
-            while (iterator.hasNext()) {
-                org.bukkit.Location loc = iterator.next();
-                
-                // 懒惰验证: 检查是否仍是作物
-                Block block = loc.getBlock();
-                if (!(block.getBlockData() instanceof Ageable)) {
-                    iterator.remove();
-                    continue;
-                }
-                
-                // 检查肥力效率
-                Block soil = block.getRelative(0, -1, 0);
-                if (soil.getType() != Material.FARMLAND) {
-                    iterator.remove();
-                    continue;
-                }
+        // 没有作物时零开销
+        if (cropRegistry.isEmpty()) return;
 
-                double efficiency = fertilityManager.calculateTotalEfficiency(soil);
-                
-                // --- 基因集成: 生长速度 & 耐肥性 (Refactored 2025-12-22) ---
-                GeneData geneData = geneticsManager.getGenesFromBlock(block);
-                
-                // [New 2025-12-23] 杂交状态视觉反馈 (Pollen Particles)
-                // 检查该作物是否已被授粉（携带外源花粉）
-                if (geneticsManager.getPollenFromBlock(block) != null) {
-                    // 播放 "孢子花" 粒子效果，表示正在进行基因交流
-                    // 这种粒子在空气中悬浮，很有生物感
-                    if (random.nextDouble() < 0.3) { // 降低频率，避免过于密集
-                        // 兼容性修复: 使用 VILLAGER_HAPPY 替代 SPORE_BLOSSOM 以兼容旧版本或防止报错
-                        block.getWorld().spawnParticle(Particle.SPORE_BLOSSOM_AIR, block.getLocation().add(0.5, 0.6, 0.5), 1, 0.2, 0.2, 0.2, 0.0);
-                    }
-                }
+        // 先快照本轮的区块再处理: performGrowth 触发的 BlockGrowEvent 可能让其他监听器种植/注册作物，
+        // 遍历中向注册表插入会使 LongObjectMap 扩容或移动槽位，导致区块被跳过或重复处理
+        snapshotChunks(passChunks);
+        for (int i = 0; i < passChunks.size(); i++) {
+            ChunkCrops crops = passChunks.get(i);
+            // 本轮中途卸载的区块 (或世界) 不再读取其方块
+            if (crops.isUnloaded()) continue;
+            org.bukkit.World world = crops.getWorld();
+            if (world.isChunkLoaded(crops.getChunkX(), crops.getChunkZ()) && isChunkActive(crops)) {
+                tickChunkCrops(crops, baseChance(world));
+            }
+            if (crops.isEmpty()) dropIfRegistered(crops);
+        }
+        passChunks.clear();
+    }
 
-                if (geneData != null) {
-                    // 1. 获取效率细分
-                    FertilityManager.EfficiencyBreakdown breakdown = fertilityManager.calculateEfficiencyBreakdown(soil);
-                    
-                    // 基础效率 (包含: 1.0 + 基础肥力加成 + 群系 + 地灵)
-                    // 修正: 保留基础肥力加成 (Fertility Bonus)，因为这是土壤的基础属性。
-                    double currentEfficiency = breakdown.totalEfficiency;
-                    
-                    // 2. 耐肥性 (Fertility Resistance) (Trait D)
-                    // 决定对土地肥料浓度的耐受力。
-                    double resistance = geneData.getGenePair(Trait.SOIL_TOLERANCE).getPhenotypeValue() * 40.0;
-                    double concentration = fertilityManager.getConcentration(soil);
-                    
-                    if (resistance < 1.0) resistance = 1.0; 
-                    
-                    double resistanceBonus = 0.01 * concentration * (1.0 - concentration / (2.0 * resistance));
-                    
-                    // 3. 生长速度 (Growth Speed) (Trait A)
-                    // Map [-10, 10] to [-1.0, 1.0]
-                    double growthGeneVal = geneData.getGenePair(Trait.GROWTH_SPEED).getPhenotypeValue();
-                    double growthBonus = growthGeneVal / 10.0;
-                    
-                    // 4. 温度适应性 (Temperature Tolerance) (Trait C)
-                    double temp = block.getWorld().getTemperature(block.getLocation().getBlockX(), block.getLocation().getBlockY(), block.getLocation().getBlockZ());
-                    double tempDiff = Math.abs(temp - 0.8); 
-                    double tempPenalty = tempDiff * 0.5;
-                    double tempGeneVal = geneData.getGenePair(Trait.TEMPERATURE_TOLERANCE).getPhenotypeValue();
-                    double tempBonus = tempGeneVal / 20.0; 
-
-                    // 5. 汇总
-                    // Efficiency = (Base + Fertility + Biome...) + ActiveConcentrationBonus + GeneSpeedBonus + (TempBonus - TempPenalty)
-                    efficiency = currentEfficiency + resistanceBonus + growthBonus + (tempBonus - tempPenalty);
-                }
-                // --------------------------------------
-                
-                // 主动 Ticker 仅处理加速 (E > 1.0)
-                if (efficiency <= 1.0) continue;
-                
-                // [优化] 原版逻辑集成
-                // 我们必须计算原版生长概率 'g' 以确保环境因素适用。
-                // 公式: P_grow = 1 / (floor(25/g) + 1)
-                float g = fertilityManager.calculateGrowthPoints(block, soil);
-                double vanillaGrowthChance = 1.0 / (Math.floor(25.0 / g) + 1);
-
-                // 计算额外概率
-                // 我们想要模拟 (Efficiency - 1.0) * VanillaEvents。
-                // "Vanilla Event" 发生当:
-                // 1. Random Tick 命中 (baseChance)
-                // 2. 作物逻辑成功 (vanillaGrowthChance)
-                
-                double extraChance = (efficiency - 1.0) * baseChance * vanillaGrowthChance;
-                
-                // 掷骰子生长
-                // 处理高概率 (例如 Speed=10000, chance > 1.0)
-                while (extraChance > 0) {
-                    double roll = random.nextDouble();
-                    if (roll < extraChance) {
-                        // 生长!
-                        performGrowth(block, soil);
-                        extraChance -= 1.0; // 消耗 1.0 概率 (保证生长)
-                    } else {
-                        break; // 失败于小数部分
-                    }
+    /**
+     * 将注册表中的全部区块复制到 into，顺便移除已卸载世界与空世界的条目。
+     */
+    private void snapshotChunks(java.util.List<ChunkCrops> into) {
+        java.util.Iterator<java.util.Map.Entry<java.util.UUID, LongObjectMap<ChunkCrops>>> worlds = cropRegistry.entrySet().iterator();
+        while (worlds.hasNext()) {
+            java.util.Map.Entry<java.util.UUID, LongObjectMap<ChunkCrops>> worldEntry = worlds.next();
+            LongObjectMap<ChunkCrops> chunks = worldEntry.getValue();
+            if (chunks.isEmpty() || plugin.getServer().getWorld(worldEntry.getKey()) == null) {
+                worlds.remove();
+                continue;
+            }
+            for (int i = 0; i < chunks.capacity(); i++) {
+                if (chunks.isOccupied(i)) into.add(chunks.valueAt(i));
+            }
+        }
+    }
+
+    /** 空区块仍是注册表中的当前条目时移除 (快照中的条目可能已被卸载或替换)。 */
+    private void dropIfRegistered(ChunkCrops crops) {
+        LongObjectMap<ChunkCrops> chunks = cropRegistry.get(crops.getWorld().getUID());
+        if (chunks != null && chunks.get(crops.getChunkKey()) == crops) {
+            dropChunk(chunks, crops);
+        }
+    }
+
+    /**
+     * 区块本轮是否加速 (growth.active-chunks)。休眠区块只递减计数，到期才重新检查门控。
+     * 休眠期间不累计时间: 唤醒后预算模式按一轮计算，与原版不在模拟距离内不生长一致。
+     */
+    private boolean isChunkActive(ChunkCrops chunk) {
+        if (chunkGate.isOpen()) return true;
+        if (chunk.skipDormantPass()) return false;
+        if (chunkGate.allows(chunk.getWorld(), chunk.getChunkX(), chunk.getChunkZ())) {
+            chunk.setDormant(0);
+            return true;
+        }
+        chunk.setDormant(DORMANT_RECHECK_PASSES);
+        chunk.setLastVisitTick(-1L);
+        return false;
+    }
+
+    private void tickChunkCrops(ChunkCrops crops, double baseChance) {
+        recheckParked(crops);
+        if (samplesPerChunk > 0 && crops.size() > samplesPerChunk) {
+            tickChunkSampled(crops, baseChance);
+            return;
+        }
+        // 遍历该区块中的活动作物 (成熟作物已停放，不在其中)
+        int i = 0;
+        while (i < crops.size()) {
+            i = settleCrop(crops, i, tickCrop(crops, crops.get(i), baseChance, 1.0));
+        }
+    }
+
+    /**
+     * 抽样模式: 与原版随机刻相同，有放回地均匀抽取 k 次，每次的概率按 N/k 放大 (N 为抽取时的活动作物数)。
+     * 每株作物每轮平均被访问 k/N 次，而 stagesForPass 在任何概率下的期望都等于该概率，
+     * 所以每株作物每轮的期望生长阶段不变；单次生长的阶段数更集中 (方差见 scripts/GrowthSubsamplingStats.java)。
+     * 放大后的概率超过剩余年龄时会被 performGrowth 截断，所以 k 过小时接近成熟的作物略慢。
+     */
+    private void tickChunkSampled(ChunkCrops crops, double baseChance) {
+        sampledPasses++;
+        skippedVisits += crops.size() - samplesPerChunk;
+        for (int s = 0; s < samplesPerChunk && crops.size() > 0; s++) {
+            int n = crops.size();
+            int i = random.nextInt(n);
+            settleCrop(crops, i, tickCrop(crops, crops.get(i), baseChance, (double) n / samplesPerChunk));
+            sampledVisits++;
+        }
+    }
+
+    /** 抽样模式下按抽样处理的区块轮数。 */
+    public long getSampledPasses() {
+        return sampledPasses;
+    }
+
+    /** 抽样模式下实际访问的作物次数。 */
+    public long getSampledVisits() {
+        return sampledVisits;
+    }
+
+    /** 抽样模式相比全量遍历省去的作物访问次数。 */
+    public long getSkippedVisits() {
+        return skippedVisits;
+    }
+
+    /**
+     * 预算模式: 从游标处继续处理，直到本 tick 的预算用完。
+     * 每个区块一轮只访问一次，额外概率按距上次访问的实际 tick 数缩放，使生长速率与每 5 tick 全量处理一致。
+     */
+    private void tickCropsBudgeted() {
+        budgetTick++;
+        if (cursorChunk == null && roundIndex >= round.size() && cropRegistry.isEmpty()) return;
+
+        long deadline = System.nanoTime() + budgetNanos;
+        int processed = 0;
+        while (true) {
+            if (cursorChunk == null) {
+                if (roundIndex >= round.size()) {
+                    // 一轮最短 5 tick: 小农场与全量模式频率相同，不会因预算富余而多算
+                    if (budgetTick - roundStartTick < PASS_TICKS) return;
+                    startRound();
+                    if (round.isEmpty()) return;
                 }
+                ChunkCrops chunk = round.get(roundIndex);
+                round.set(roundIndex++, null);
+                if (chunk.isUnloaded() || !chunk.getWorld().isChunkLoaded(chunk.getChunkX(), chunk.getChunkZ())) continue;
+                if (!isChunkActive(chunk)) continue;
+
+                long elapsed = chunk.getLastVisitTick() < 0 ? PASS_TICKS : budgetTick - chunk.getLastVisitTick();
+                chunk.setLastVisitTick(budgetTick);
+                recheckParked(chunk);
+                cursorChunk = chunk;
+                cursorIndex = 0;
+                cursorBaseChance = baseChance(chunk.getWorld()) * elapsed / PASS_TICKS;
+            }
+
+            // 游标为区块内的下标。两个 tick 之间的增删可能使个别作物本轮被跳过或访问两次，期望速率不受影响
+            ChunkCrops crops = cursorChunk;
+            while (cursorIndex < crops.size()) {
+                // 区块可能在两个 tick 之间卸载; 不能再读取其方块 (会同步加载区块)
+                if (crops.isUnloaded()) break;
+                cursorIndex = settleCrop(crops, cursorIndex, tickCrop(crops, crops.get(cursorIndex), cursorBaseChance, 1.0));
+                if ((++processed & 15) == 0 && System.nanoTime() >= deadline) return;
+            }
+
+            if (crops.isEmpty() && !cursorChunk.isUnloaded()) dropIfRegistered(cursorChunk);
+            cursorChunk = null;
+            if (System.nanoTime() >= deadline) return;
+        }
+    }
+
+    private void startRound() {
+        round.clear();
+        roundIndex = 0;
+        roundStartTick = budgetTick;
+        // 与 tickCrops 相同，一轮的区块先快照，处理中注册的新区块从下一轮开始
+        snapshotChunks(round);
+    }
+
+    /**
+     * 处理单株作物一轮。返回 CROP_ACTIVE 保留; CROP_PARK 已成熟，移入停放集合;
+     * CROP_REMOVE 已不是耕地上的作物，应从注册表移除。
+     * weight: 本次访问代表的轮数 (全量遍历为 1，抽样模式为 N/k)，生长与花粉概率按此放大。
+     */
+    private int tickCrop(ChunkCrops chunk, int packed, double baseChance, double weight) {
+        Block block = chunk.getBlock(packed);
+        // 懒惰验证: 检查是否仍是作物
+        if (!(block.getBlockData() instanceof Ageable ageable)) {
+            return CROP_REMOVE;
+        }
+        
+        // 检查肥力效率
+        Block soil = block.getRelative(0, -1, 0);
+        if (soil.getType() != Material.FARMLAND) {
+            return CROP_REMOVE;
+        }
+
+        // 基因/花粉/温度已解析并缓存，基因或花粉变化时失效
+        CropState state = chunk.getState(packed);
+        if (state == null) {
+            state = resolveCropState(block);
+            chunk.putState(packed, state);
+        }
+
+        // [New 2025-12-23] 杂交状态视觉反馈 (Pollen Particles)
+        // 检查该作物是否已被授粉（携带外源花粉）
+        if (state.pollinated) {
+            if (random.nextDouble() < 0.3 * weight) { // 降低频率，避免过于密集
+                spawnPollenParticle(block);
+            }
+        }
+
+        // 已成熟: 不再计算效率。授粉作物保留在活动集合中以继续显示花粉粒子
+        if (ageable.getAge() >= ageable.getMaximumAge()) {
+            return state.pollinated ? CROP_ACTIVE : CROP_PARK;
+        }
+
+        double extraChance = calculateExtraChance(chunk, block, soil, state, baseChance * weight);
+        
+        // 掷骰子生长
+        // 处理高概率 (例如 Speed=10000, chance > 1.0): 每 1.0 概率保证一级，小数部分再掷一次。
+        // 本轮的所有阶段合并为一次事件和一次方块更新
+        int stages = GrowthSampling.stagesForPass(extraChance, random);
+        if (stages > 0) {
+            performGrowth(block, soil, stages);
+        }
+        return CROP_ACTIVE;
+    }
+
+    /**
+     * 按 tickCrop 的结果处理活动集合中的作物，返回下一个要处理的下标。
+     * 移出活动集合时末尾元素填入当前位置，所以不前进索引。
+     */
+    private static int settleCrop(ChunkCrops crops, int position, int result) {
+        if (result == CROP_ACTIVE) return position + 1;
+        if (result == CROP_PARK) {
+            crops.parkAt(position);
+        } else {
+            crops.removeAt(position);
+        }
+        return position;
+    }
+
+    /**
+     * 定期重新检查停放的成熟作物: 年龄被其他插件或方块替换改小的回到活动集合，已失效的移除。
+     * 收获、重新种植与生长事件会立即恢复，这里只兜底不触发事件的修改。
+     */
+    private void recheckParked(ChunkCrops crops) {
+        if (!crops.parkedCheckDue(parkedRecheckPasses)) return;
+        int i = 0;
+        while (i < crops.parkedSize()) {
+            Block block = crops.getBlock(crops.getParked(i));
+            if (!(block.getBlockData() instanceof Ageable ageable)
+                    || block.getRelative(0, -1, 0).getType() != Material.FARMLAND) {
+                crops.removeParkedAt(i);
+            } else if (ageable.getAge() < ageable.getMaximumAge()) {
+                crops.unparkAt(i);
+            } else {
+                i++;
             }
         }
     }
 
-    private void performGrowth(Block block, Block soil) {
+    /**
+     * 世界的随机刻基础概率 (每个方块每 5 tick 一轮)。
+     * 原版每 tick 在每个 section (4096方块) 中随机刻 'Speed' 个方块: P = Speed / 4096.0，每轮 5 tick 再乘以 5。
+     * 随机刻速度来自缓存的 WorldEnvironment，游戏规则变化时刷新。
+     */
+    private double baseChance(org.bukkit.World world) {
+        return environment(world).getBaseChance();
+    }
+
+    /** 世界的环境常量; 插件启用前已加载的世界在首次使用时读取。 */
+    private WorldEnvironment environment(org.bukkit.World world) {
+        return environments.computeIfAbsent(world.getUID(), k -> WorldEnvironment.of(world));
+    }
+
+    /**
+     * 一轮 (5 tick) 内的额外生长概率。效率 <= 1.0 时为 0 (主动 Ticker 仅处理加速)。
+     * 间隔引擎与调度引擎共用此模型，保证两者的生长统计一致。
+     * 开启离线补偿时，同时在 chunk 中记录作物每轮的总生长系数 (原版事件 + 主动加速，不含 baseChance)，
+     * 卸载时直接使用，不必为即将丢弃的区块重新计算效率与邻域。
+     */
+    private double calculateExtraChance(ChunkCrops chunk, Block block, Block soil, CropState state, double baseChance) {
+        double efficiency = calculateCropEfficiency(soil, state);
+        boolean record = catchUpMaxStages > 0 && chunk != null;
+        
+        // 主动 Ticker 仅处理加速 (E > 1.0)
+        if (efficiency <= 1.0 && !record) return 0.0;
+        
+        // [优化] 原版逻辑集成
+        // 我们必须计算原版生长概率 'g' 以确保环境因素适用。
+        // 公式: P_grow = 1 / (floor(25/g) + 1)
+        float g = fertilityManager.calculateGrowthPoints(block, soil);
+        double vanillaGrowthChance = 1.0 / (Math.floor(25.0 / g) + 1);
+
+        // 低效率 (E < 1) 时只记录原版概率，过滤由 onCropGrow 在事件中完成 (与在线时相同)
+        if (record) {
+            chunk.setPassFactor(ChunkCrops.pack(block.getX(), block.getY(), block.getZ()),
+                    (float) (Math.max(1.0, efficiency) * vanillaGrowthChance));
+        }
+        if (efficiency <= 1.0) return 0.0;
+
+        // 计算额外概率
+        // 我们想要模拟 (Efficiency - 1.0) * VanillaEvents。
+        // "Vanilla Event" 发生当:
+        // 1. Random Tick 命中 (baseChance)
+        // 2. 作物逻辑成功 (vanillaGrowthChance)
+        
+        return (efficiency - 1.0) * baseChance * vanillaGrowthChance;
+    }
+
+    private double calculateCropEfficiency(Block soil, CropState state) {
+        // 基础效率 (包含: 1.0 + 基础肥力加成 + 群系 + 地灵)
+        // 修正: 保留基础肥力加成 (Fertility Bonus)，因为这是土壤的基础属性。
+        double efficiency = fertilityManager.calculateTotalEfficiency(soil);
+        
+        // --- 基因集成: 生长速度 & 耐肥性 (Refactored 2025-12-22) ---
+        if (state.hasGenes) {
+            // 耐肥性 (Trait D) 取决于当前肥料浓度，其余系数已在 CropState 中预先计算
+            double concentration = fertilityManager.getConcentration(soil);
+
+            // Efficiency = (Base + Fertility + Biome...) + ActiveConcentrationBonus + GeneSpeedBonus + (TempBonus - TempPenalty)
+            efficiency += state.resistanceBonus(concentration) + state.growthBonus + state.temperatureTerm;
+        }
+        // --------------------------------------
+        return efficiency;
+    }
+
+    /**
+     * 解析作物的基因、花粉与群系温度 (需要解析区块基因字符串，仅在缓存缺失时调用)。
+     */
+    private CropState resolveCropState(Block block) {
+        GeneData geneData = geneticsManager.getGenesFromBlock(block);
+        boolean pollinated = geneticsManager.getPollenFromBlock(block) != null;
+        if (geneData == null) {
+            return pollinated ? new CropState(null, true, 0.0) : CropState.PLAIN;
+        }
+        double temp = environment(block.getWorld()).temperature(block);
+        return new CropState(geneData, pollinated, temp);
+    }
+
+    /**
+     * 已注册作物取缓存的 CropState，未注册的直接解析。
+     */
+    private CropState cropState(Block block) {
+        ChunkCrops chunk = registeredChunk(block);
+        if (chunk == null) return resolveCropState(block);
+        int packed = ChunkCrops.pack(block.getX(), block.getY(), block.getZ());
+        CropState state = chunk.getState(packed);
+        if (state == null) {
+            state = resolveCropState(block);
+            chunk.putState(packed, state);
+        }
+        return state;
+    }
+
+    private ChunkCrops registeredChunk(Block block) {
+        LongObjectMap<ChunkCrops> chunks = cropRegistry.get(block.getWorld().getUID());
+        if (chunks == null) return null;
+        return chunks.get(org.bukkit.Chunk.getChunkKey(block.getX() >> 4, block.getZ() >> 4));
+    }
+
+    /**
+     * 基因/花粉变化: 丢弃缓存的 CropState，调度引擎重新抽取。
+     */
+    private void onCropDataChanged(Block block) {
+        ChunkCrops chunk = registeredChunk(block);
+        if (chunk != null) chunk.invalidateState(ChunkCrops.pack(block.getX(), block.getY(), block.getZ()));
+        if (scheduledEngine != null) scheduledEngine.invalidate(block);
+    }
+
+    private void spawnPollenParticle(Block block) {
+        // 播放 "孢子花" 粒子效果，表示正在进行基因交流
+        // 这种粒子在空气中悬浮，很有生物感
+        // 兼容性修复: 使用 VILLAGER_HAPPY 替代 SPORE_BLOSSOM 以兼容旧版本或防止报错
+        effects.spawn(Particle.SPORE_BLOSSOM_AIR, block.getLocation().add(0.5, 0.6, 0.5), 1, 0.2, 0.2, 0.2, 0.0);
+    }
+
+    /**
+     * 调度引擎回调: 复用间隔引擎的作物规则。
+     */
+    private final class ScheduledCropModel implements ScheduledGrowthEngine.CropModel {
+        @Override
+        public double extraChance(Block crop, Block soil) {
+            if (!(crop.getBlockData() instanceof Ageable) || soil.getType() != Material.FARMLAND) {
+                unregisterCrop(crop);
+                return Double.NaN;
+            }
+            // 成熟作物: 概率为 0，只在刷新间隔时重新检查 (调度引擎的开销本就只与到期条目相关)
+            Ageable ageable = (Ageable) crop.getBlockData();
+            if (ageable.getAge() >= ageable.getMaximumAge()) return 0.0;
+            // 门控外的区块同样按 0 处理，最迟一个刷新间隔后恢复
+            if (!chunkGate.isOpen() && !chunkGate.allows(crop.getWorld(), crop.getX() >> 4, crop.getZ() >> 4)) return 0.0;
+            return calculateExtraChance(registeredChunk(crop), crop, soil, cropState(crop), baseChance(crop.getWorld()));
+        }
+
+        @Override
+        public void grow(Block crop, Block soil, int stages) {
+            performGrowth(crop, soil, stages);
+        }
+
+        @Override
+        public boolean isPollinated(Block crop) {
+            return cropState(crop).pollinated;
+        }
+
+        @Override
+        public boolean pollenTick(Block crop) {
+            if (!(crop.getBlockData() instanceof Ageable) || !isPollinated(crop)) return false;
+            spawnPollenParticle(crop);
+            return true;
+        }
+    }
+
+    /**
+     * 推进作物若干阶段 (截断到最大年龄)。
+     * 无论阶段数多少，只触发一次 BlockGrowEvent、一次方块更新和一个粒子；
+     * onCropGrow 按事件中的年龄差计算肥力消耗。
+     */
+    private void performGrowth(Block block, Block soil, int stages) {
         if (!(block.getBlockData() instanceof Ageable ageable)) return;
         
         int currentAge = ageable.getAge();
         if (currentAge >= ageable.getMaximumAge()) return;
         
         // 增加年龄
-        ageable.setAge(currentAge + 1);
+        ageable.setAge(Math.min(ageable.getMaximumAge(), currentAge + stages));
         
         // 触发事件
         org.bukkit.block.BlockState newState = block.getState();
@@ -220,21 +588,116 @@ public class FarmingListener implements Listener {
             growEvent.getNewState().update(true);
             
             // 视觉效果
-            block.getWorld().spawnParticle(Particle.HAPPY_VILLAGER, block.getLocation().add(0.5, 0.5, 0.5), 1);
+            effects.spawn(Particle.HAPPY_VILLAGER, block.getLocation().add(0.5, 0.5, 0.5), 1);
         }
     }
 
     private void registerCrop(Block block) {
-        long chunkKey = block.getChunk().getChunkKey();
-        cropRegistry.computeIfAbsent(chunkKey, k -> new java.util.HashSet<>()).add(block.getLocation());
+        long chunkKey = org.bukkit.Chunk.getChunkKey(block.getX() >> 4, block.getZ() >> 4);
+        LongObjectMap<ChunkCrops> chunks = cropRegistry.computeIfAbsent(block.getWorld().getUID(), k -> new LongObjectMap<>());
+        ChunkCrops chunk = chunks.get(chunkKey);
+        if (chunk == null) {
+            chunk = new ChunkCrops(block.getWorld(), chunkKey);
+            chunks.put(chunkKey, chunk);
+        }
+        if (chunk.add(block.getX(), block.getY(), block.getZ()) && scheduledEngine != null) {
+            scheduledEngine.track(block);
+        }
     }
     
     private void unregisterCrop(Block block) {
-        long chunkKey = block.getChunk().getChunkKey();
-        java.util.Set<org.bukkit.Location> set = cropRegistry.get(chunkKey);
-        if (set != null) {
-            set.remove(block.getLocation());
-            if (set.isEmpty()) cropRegistry.remove(chunkKey);
+        LongObjectMap<ChunkCrops> chunks = cropRegistry.get(block.getWorld().getUID());
+        if (chunks == null) return;
+        long chunkKey = org.bukkit.Chunk.getChunkKey(block.getX() >> 4, block.getZ() >> 4);
+        ChunkCrops chunk = chunks.get(chunkKey);
+        if (chunk != null) {
+            chunk.remove(block.getX(), block.getY(), block.getZ());
+            if (chunk.isEmpty()) dropChunk(chunks, chunk);
+        }
+        if (scheduledEngine != null) scheduledEngine.untrack(block);
+    }
+
+    private void dropChunk(LongObjectMap<ChunkCrops> chunks, ChunkCrops chunk) {
+        chunks.remove(chunk.getChunkKey());
+        // 已持久化的区块清空后，同时清除 PDC 中的旧列表 (只处理已加载区块，避免触发同步加载)
+        if (chunk.isPersisted() && chunk.getWorld().isChunkLoaded(chunk.getChunkX(), chunk.getChunkZ())) {
+            saveChunkCrops(chunk.getWorld().getChunkAt(chunk.getChunkX(), chunk.getChunkZ()), chunk);
+        }
+    }
+
+    private void saveChunkCrops(org.bukkit.Chunk chunk, ChunkCrops crops) {
+        org.bukkit.persistence.PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+        if (crops.isEmpty()) {
+            pdc.remove(registryKey);
+        } else {
+            pdc.set(registryKey, org.bukkit.persistence.PersistentDataType.INTEGER_ARRAY, crops.toArray());
+        }
+        crops.markSaved();
+    }
+
+    /**
+     * 将已修改的注册表写入区块 PDC (关服时调用; 平时在区块卸载时写入)。
+     */
+    public void saveRegistry() {
+        for (LongObjectMap<ChunkCrops> chunks : cropRegistry.values()) {
+            for (int i = 0; i < chunks.capacity(); i++) {
+                if (!chunks.isOccupied(i)) continue;
+                ChunkCrops crops = chunks.valueAt(i);
+                if (!crops.getWorld().isChunkLoaded(crops.getChunkX(), crops.getChunkZ())) continue;
+                org.bukkit.Chunk chunk = crops.getWorld().getChunkAt(crops.getChunkX(), crops.getChunkZ());
+                if (crops.isDirty()) saveChunkCrops(chunk, crops);
+                // 关服后区块不再触发卸载事件，在此记录离线补偿的起点
+                if (catchUpMaxStages > 0) saveCatchUp(chunk, crops);
+            }
+        }
+    }
+
+    /**
+     * 离线补偿: 记录未成熟作物的每轮生长概率 (按压缩坐标成对存储) 与当前肥力时钟时间。
+     * 概率取自生长循环最近一次记录的系数 (见 calculateExtraChance)，尚未评估过的作物不补偿。
+     */
+    private void saveCatchUp(org.bukkit.Chunk chunk, ChunkCrops crops) {
+        org.bukkit.persistence.PersistentDataContainer pdc = chunk.getPersistentDataContainer();
+        double baseChance = baseChance(crops.getWorld());
+        int[] entries = new int[crops.size() * 2];
+        int count = 0;
+        for (int i = 0; i < crops.size(); i++) {
+            float factor = crops.getPassFactor(i);
+            if (!(factor > 0)) continue;
+            int packed = crops.get(i);
+            Block block = crops.getBlock(packed);
+            if (!(block.getBlockData() instanceof Ageable ageable) || ageable.getAge() >= ageable.getMaximumAge()) continue;
+            entries[count++] = packed;
+            entries[count++] = Float.floatToIntBits((float) (factor * baseChance));
+        }
+        if (count == 0) {
+            pdc.remove(catchUpKey);
+            pdc.remove(catchUpTimeKey);
+            return;
+        }
+        pdc.set(catchUpKey, org.bukkit.persistence.PersistentDataType.INTEGER_ARRAY, java.util.Arrays.copyOf(entries, count));
+        pdc.set(catchUpTimeKey, org.bukkit.persistence.PersistentDataType.LONG, fertilityManager.getClock().now(crops.getWorld()));
+    }
+
+    /**
+     * 离线补偿: 按卸载期间经过的轮数，以卸载时的概率抽样每株作物错过的阶段 (上限 catchUpMaxStages)，
+     * 每株作物一次事件、一次方块更新。
+     */
+    private void applyCatchUp(ChunkCrops chunk, int[] entries, long passes) {
+        if (chunk.isUnloaded()) return;
+        for (int i = 0; i + 1 < entries.length; i += 2) {
+            int packed = entries[i];
+            if (!chunk.contains(chunk.blockX(packed), chunk.blockY(packed), chunk.blockZ(packed))) continue;
+            Block block = chunk.getBlock(packed);
+            if (!(block.getBlockData() instanceof Ageable ageable)) continue;
+            Block soil = block.getRelative(0, -1, 0);
+            if (soil.getType() != Material.FARMLAND) continue;
+
+            int room = Math.min(catchUpMaxStages, ageable.getMaximumAge() - ageable.getAge());
+            int stages = GrowthSampling.stagesOver(Float.intBitsToFloat(entries[i + 1]), passes, room, random);
+            if (stages > 0) {
+                performGrowth(block, soil, stages);
+            }
         }
     }
 
@@ -283,8 +746,9 @@ public class FarmingListener implements Listener {
         double totalEfficiency = fertilityManager.calculateTotalEfficiency(soil);
         
         // --- 基因集成: 生长速度 & 耐肥性 (Refactored 2025-12-22) ---
-        GeneData geneData = geneticsManager.getGenesFromBlock(block);
-        if (geneData != null) {
+        // 基因系数 (Trait A/C/D) 与群系温度惩罚来自缓存的 CropState，公式见 CropState
+        CropState state = cropState(block);
+        if (state.hasGenes) {
             // 1. 获取效率细分，以便我们可以替换肥力部分
             FertilityManager.EfficiencyBreakdown breakdown = fertilityManager.calculateEfficiencyBreakdown(soil);
             
@@ -292,56 +756,41 @@ public class FarmingListener implements Listener {
             double baseEfficiencyWithoutFertility = breakdown.totalEfficiency - breakdown.fertilityBonus;
             
             // 2. 耐肥性 (Fertility Resistance) (Trait D)
-            // 决定对土地肥料浓度的耐受力。
             // 公式: Bonus = 0.01 * C * (1 - C / (2 * R))
-            double resistance = geneData.getGenePair(Trait.SOIL_TOLERANCE).getPhenotypeValue() * 40.0;
             double concentration = fertilityManager.getConcentration(soil);
+            double resistanceBonus = state.resistanceBonus(concentration);
             
-            if (resistance < 1.0) resistance = 1.0; 
-            
-            double resistanceBonus = 0.01 * concentration * (1.0 - concentration / (2.0 * resistance));
-            
-            // 3. 生长速度 (Growth Speed) (Trait A)
-            // Phenotype Value Range: -10.0 ~ +10.0
-            // Target Range: -1.0 ~ +1.0
-            double growthGeneVal = geneData.getGenePair(Trait.GROWTH_SPEED).getPhenotypeValue();
-            // Map [-10, 10] to [-1.0, 1.0]
-            double growthBonus = growthGeneVal / 10.0;
-
-            // 4. 温度适应性 (Temperature Tolerance) (Trait C)
-            // 逻辑: 每个生物群系都有温度。以平原(0.8)为基准，偏差越大生长越慢。
-            // Trait C 提供修正。正值抵抗极端温度，负值加剧敏感度。
-            double temp = block.getWorld().getTemperature(block.getLocation().getBlockX(), block.getLocation().getBlockY(), block.getLocation().getBlockZ());
-            // 偏差: 0.0 (0.8) -> 1.2 (2.0 Desert) or 0.8 (0.0 Snow)
-            double tempDiff = Math.abs(temp - 0.8); 
-            // 基础环境惩罚: 每偏离 1.0，效率 -0.5
-            double tempPenalty = tempDiff * 0.5;
-            
-            // 基因修正: -10.0 ~ +10.0 -> -0.5 ~ +0.5
-            // +10 (厚皮) 可以抵消 1.0 的温度偏差 (即适应沙漠/雪地)
-            double tempGeneVal = geneData.getGenePair(Trait.TEMPERATURE_TOLERANCE).getPhenotypeValue();
-            double tempBonus = tempGeneVal / 20.0; 
-            
-            // 5. 汇总
+            // 3. 汇总
             // Efficiency = (Base + Fertility) + ResistanceBonus + GrowthBonus + (TempBonus - TempPenalty)
-            totalEfficiency = baseEfficiencyWithoutFertility + resistanceBonus + growthBonus + (tempBonus - tempPenalty);
+            totalEfficiency = baseEfficiencyWithoutFertility + resistanceBonus + state.growthBonus + state.temperatureTerm;
         }
         // -----------------------------------------------------------
         
         // 效率逻辑:
         // 情况 1: 低效率 (efficiency < 1.0)
         // 我们作为原版事件的过滤器。
+        // 合并生长 (performGrowth) 的一个事件可能包含多个阶段，按阶段逐一过滤和计费
+        int stages = eventStages(block, event);
         if (totalEfficiency < 1.0) {
             // 确保效率非负用于概率计算
             double probability = Math.max(0.0, totalEfficiency);
             
-            // 如果随机掷骰子 (0.0 到 1.0) 大于效率，我们取消。
-            if (random.nextDouble() > probability) {
+            // 每个阶段: 如果随机掷骰子 (0.0 到 1.0) 大于效率，该阶段被取消。
+            int accepted = 0;
+            for (int i = 0; i < stages; i++) {
+                if (random.nextDouble() <= probability) accepted++;
+            }
+            if (accepted == 0) {
                 event.setCancelled(true);
                 return;
             }
-            // 通过，消耗标准成本
-            fertilityManager.consumeFertility(soil, 2);
+            if (accepted < stages && block.getBlockData() instanceof Ageable current
+                    && event.getNewState().getBlockData() instanceof Ageable grown) {
+                grown.setAge(current.getAge() + accepted);
+                event.getNewState().setBlockData(grown);
+            }
+            // 通过的阶段消耗标准成本
+            consumeStages(soil, accepted);
             return;
         }
         
@@ -351,7 +800,23 @@ public class FarmingListener implements Listener {
         // 主动 Ticker (tickCrops) 将处理 "额外" 事件。
         
         // 为此原版生长消耗标准成本
-        fertilityManager.consumeFertility(soil, 2);
+        consumeStages(soil, stages);
+    }
+
+    /** 事件推进的阶段数 (原版事件为 1)。 */
+    private static int eventStages(Block block, BlockGrowEvent event) {
+        if (block.getBlockData() instanceof Ageable current
+                && event.getNewState().getBlockData() instanceof Ageable grown) {
+            return Math.max(1, grown.getAge() - current.getAge());
+        }
+        return 1;
+    }
+
+    /** 逐阶段消耗，熵模型的倍率随每次消耗后的肥力变化，与逐阶段事件的结果一致。 */
+    private void consumeStages(Block soil, int stages) {
+        for (int i = 0; i < stages; i++) {
+            fertilityManager.consumeFertility(soil, 2);
+        }
     }
 
     // 2. 监听收割 (方块破坏) - 修改为转移基因
@@ -416,9 +881,10 @@ public class FarmingListener implements Listener {
                             double mutationRate = 0.001;
                             
                             // 1. 辐射高空
-                            if (block.getWorld().getEnvironment() == org.bukkit.World.Environment.NORMAL && block.getY() >= 310) {
+                            org.bukkit.World.Environment dimension = environment(block.getWorld()).getEnvironment();
+                            if (dimension == org.bukkit.World.Environment.NORMAL && block.getY() >= 310) {
                                 mutationRate += 0.01;
-                            } else if (block.getWorld().getEnvironment() == org.bukkit.World.Environment.THE_END && block.getY() >= 250) {
+                            } else if (dimension == org.bukkit.World.Environment.THE_END && block.getY() >= 250) {
                                 mutationRate += 0.01;
                             }
                             
@@ -436,7 +902,7 @@ public class FarmingListener implements Listener {
                             // Case A: 杂交
                             if (pollenData != null && ageable.getAge() == ageable.getMaximumAge()) {
                                  seedGenes = geneticsManager.hybridize(geneData, pollenData, mutationRate);
-                                 if (i == 0) block.getWorld().spawnParticle(Particle.HEART, block.getLocation().add(0.5, 0.5, 0.5), 3);
+                                 if (i == 0) effects.spawn(Particle.HEART, block.getLocation().add(0.5, 0.5, 0.5), 3);
                             }
                             // Case B: 自交
                             else {
@@ -554,11 +1020,109 @@ public class FarmingListener implements Listener {
         }
     }
     
+    // 2.5 监听区块加载: 从区块 PDC 恢复注册表 (作物在下一轮由 tickCrop 懒惰验证)
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(org.bukkit.event.world.ChunkLoadEvent event) {
+        if (event.isNewChunk()) return;
+        int[] packed = event.getChunk().getPersistentDataContainer().get(registryKey, org.bukkit.persistence.PersistentDataType.INTEGER_ARRAY);
+        if (packed == null || packed.length == 0) return;
+
+        org.bukkit.World world = event.getWorld();
+        long chunkKey = event.getChunk().getChunkKey();
+        LongObjectMap<ChunkCrops> chunks = cropRegistry.computeIfAbsent(world.getUID(), k -> new LongObjectMap<>());
+        ChunkCrops chunk = chunks.get(chunkKey);
+        if (chunk == null) {
+            chunk = new ChunkCrops(world, chunkKey);
+            chunks.put(chunkKey, chunk);
+        }
+        chunk.load(packed);
+
+        // 在加载时用一次区块快照建立邻域索引，而不是在第一轮生长时逐个 section 建立
+        int[] cropYs = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            cropYs[i] = chunk.blockY(packed[i]);
+        }
+        fertilityManager.prepareNeighborhood(event.getChunk(), cropYs);
+
+        if (scheduledEngine != null) {
+            for (int i = 0; i < chunk.size(); i++) {
+                scheduledEngine.track(chunk.getBlock(chunk.get(i)));
+            }
+        }
+
+        // 离线补偿: 数据只使用一次；在下一 tick 应用 (加载事件中不修改方块)
+        org.bukkit.persistence.PersistentDataContainer pdc = event.getChunk().getPersistentDataContainer();
+        int[] catchUp = pdc.get(catchUpKey, org.bukkit.persistence.PersistentDataType.INTEGER_ARRAY);
+        Long since = pdc.get(catchUpTimeKey, org.bukkit.persistence.PersistentDataType.LONG);
+        if (catchUp == null && since == null) return;
+        pdc.remove(catchUpKey);
+        pdc.remove(catchUpTimeKey);
+        if (catchUpMaxStages <= 0 || catchUp == null || since == null) return;
+
+        long elapsedMillis = fertilityManager.getClock().now(event.getWorld()) - since;
+        long passes = elapsedMillis / (PASS_TICKS * com.example.cuisinefarming.fertility.FertilityClock.MILLIS_PER_TICK);
+        if (passes <= 0) return;
+        ChunkCrops target = chunk;
+        plugin.getServer().getScheduler().runTask(plugin, () -> applyCatchUp(target, catchUp, passes));
+    }
+
+    // 离线补偿: 在注册表移除该区块之前记录生长概率 (使用生长循环记录的系数，不再读取肥力与邻域)
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onChunkUnloadCatchUp(org.bukkit.event.world.ChunkUnloadEvent event) {
+        if (catchUpMaxStages <= 0) return;
+        LongObjectMap<ChunkCrops> chunks = cropRegistry.get(event.getWorld().getUID());
+        if (chunks == null) return;
+        ChunkCrops chunk = chunks.get(event.getChunk().getChunkKey());
+        if (chunk != null) saveCatchUp(event.getChunk(), chunk);
+    }
+
     // 2.6 监听区块卸载 (内存清理)
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onChunkUnload(org.bukkit.event.world.ChunkUnloadEvent event) {
-        long chunkKey = event.getChunk().getChunkKey();
-        cropRegistry.remove(chunkKey);
+        LongObjectMap<ChunkCrops> chunks = cropRegistry.get(event.getWorld().getUID());
+        if (chunks == null) return;
+        ChunkCrops chunk = chunks.remove(event.getChunk().getChunkKey());
+        if (chunk == null) return;
+        if (chunk.isDirty()) saveChunkCrops(event.getChunk(), chunk);
+        chunk.markUnloaded();
+        if (scheduledEngine != null) {
+            for (int i = 0; i < chunk.size(); i++) {
+                int packed = chunk.get(i);
+                scheduledEngine.untrack(chunk.getWorld(), chunk.blockX(packed), chunk.blockY(packed), chunk.blockZ(packed));
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(org.bukkit.event.world.WorldUnloadEvent event) {
+        LongObjectMap<ChunkCrops> chunks = cropRegistry.remove(event.getWorld().getUID());
+        if (chunks != null) {
+            for (int i = 0; i < chunks.capacity(); i++) {
+                if (chunks.isOccupied(i)) chunks.valueAt(i).markUnloaded();
+            }
+        }
+        if (scheduledEngine != null) scheduledEngine.untrackWorld(event.getWorld());
+        environments.remove(event.getWorld().getUID());
+    }
+
+    // 2.6.1 世界加载: 读取环境常量
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(org.bukkit.event.world.WorldLoadEvent event) {
+        environments.put(event.getWorld().getUID(), WorldEnvironment.of(event.getWorld()));
+    }
+
+    // 2.6.2 随机刻速度变化: 事件在规则生效前触发，直接使用新值
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onGameRuleChange(io.papermc.paper.event.world.WorldGameRuleChangeEvent event) {
+        if (event.getGameRule() != org.bukkit.GameRule.RANDOM_TICK_SPEED) return;
+        int speed;
+        try {
+            speed = Integer.parseInt(event.getValue());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        org.bukkit.World world = event.getWorld();
+        environments.put(world.getUID(), environment(world).withRandomTickSpeed(speed));
     }
 
     // 2.7 监听原版骨粉
@@ -613,7 +1177,7 @@ public class FarmingListener implements Listener {
             item.subtract(1);
             
             // 视觉反馈
-            clickedBlock.getWorld().spawnParticle(Particle.COMPOSTER, clickedBlock.getLocation().add(0.5, 1.1, 0.5), 10);
+            effects.spawn(Particle.COMPOSTER, clickedBlock.getLocation().add(0.5, 1.1, 0.5), 10);
             double newConc = fertilityManager.getConcentration(clickedBlock);
             event.getPlayer().sendMessage(Component.text("§a施肥成功！肥料浓度已增加 (当前: " + String.format("%.1f", newConc) + ")。"));
         }
@@ -682,8 +1246,9 @@ public class FarmingListener implements Listener {
      * 由 DebugListener 用于验证系统状态。
      */
     public boolean isCropRegistered(org.bukkit.Location loc) {
-        long chunkKey = loc.getChunk().getChunkKey();
-        java.util.Set<org.bukkit.Location> crops = cropRegistry.get(chunkKey);
-        return crops != null && crops.contains(loc);
+        LongObjectMap<ChunkCrops> chunks = cropRegistry.get(loc.getWorld().getUID());
+        if (chunks == null) return false;
+        ChunkCrops chunk = chunks.get(org.bukkit.Chunk.getChunkKey(loc.getBlockX() >> 4, loc.getBlockZ() >> 4));
+        return chunk != null && chunk.contains(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
     }
 }
\ No newline at end of file
@@ -88,7 +88,7 @@ public class PollinationManager {
         geneticsManager.savePollenToBlock(cropBlock, pollenGenes);
         
         // 特效
-        cropBlock.getWorld().spawnParticle(Particle.HAPPY_VILLAGER, cropBlock.getLocation().add(0.5, 0.5, 0.5), 10);
+        plugin.getEffectService().spawn(Particle.HAPPY_VILLAGER, cropBlock.getLocation().add(0.5, 0.5, 0.5), 10);
         player.playSound(player.getLocation(), Sound.BLOCK_BEEHIVE_ENTER, 1.0f, 1.0f);
         player.sendMessage(Component.text("§d授粉成功！收割时将获得杂交种子。"));
         
@@ -0,0 +1,158 @@
+package com.example.cuisinefarming.util;
+
+import java.util.Arrays;
+
+/**
+ * Set of primitive ints: values live densely in an array (allocation-free iteration by index)
+ * and an open-addressing index gives O(1) add / remove / contains.
+ *
+ * Iterate with {@code for (int i = 0; i < size(); i++) get(i)}. {@link #removeAt} and
+ * {@link #remove} move the last value into the freed position, so when removing during
+ * iteration, re-read the same index instead of advancing. Not thread-safe.
+ */
+public class IntSet {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int[] values;
+    // Index table: dense position + 1, 0 = empty slot.
+    private int[] index;
+    private int size = 0;
+
+    public IntSet() {
+        values = new int[DEFAULT_CAPACITY];
+        index = new int[DEFAULT_CAPACITY * 2];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int position) {
+        return values[position];
+    }
+
+    public boolean contains(int value) {
+        return findSlot(value) >= 0;
+    }
+
+    /** Dense position of a value, or -1 if absent. */
+    public int indexOf(int value) {
+        int slot = findSlot(value);
+        return slot < 0 ? -1 : index[slot] - 1;
+    }
+
+    /** Returns false if the value was already present. */
+    public boolean add(int value) {
+        int mask = index.length - 1;
+        int slot = mix(value) & mask;
+        while (index[slot] != 0) {
+            if (values[index[slot] - 1] == value) return false;
+            slot = (slot + 1) & mask;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        values[size] = value;
+        index[slot] = ++size;
+        if (size > index.length - (index.length >> 2)) {
+            rehash(index.length << 1);
+        }
+        return true;
+    }
+
+    /** Returns false if the value was not present. */
+    public boolean remove(int value) {
+        int slot = findSlot(value);
+        if (slot < 0) return false;
+        removeSlot(slot);
+        return true;
+    }
+
+    /** Remove the value at a dense position; the last value takes its place. */
+    public void removeAt(int position) {
+        removeSlot(findSlot(values[position]));
+    }
+
+    public void clear() {
+        Arrays.fill(index, 0);
+        size = 0;
+    }
+
+    /** Copy of the values in dense order. */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    // --- Internals ---
+
+    private int findSlot(int value) {
+        int mask = index.length - 1;
+        int slot = mix(value) & mask;
+        while (index[slot] != 0) {
+            if (values[index[slot] - 1] == value) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void removeSlot(int slot) {
+        int position = index[slot] - 1;
+        int last = size - 1;
+        shiftDelete(slot);
+        if (position != last) {
+            // Move the last value into the hole and repoint its index entry.
+            int moved = values[last];
+            values[position] = moved;
+            index[findSlotOfPosition(moved, last)] = position + 1;
+        }
+        size--;
+    }
+
+    private int findSlotOfPosition(int value, int position) {
+        int mask = index.length - 1;
+        int slot = mix(value) & mask;
+        while (index[slot] != position + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void shiftDelete(int slot) {
+        int mask = index.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (index[next] != 0) {
+            int home = mix(values[index[next] - 1]) & mask;
+            // Move the entry back if the hole lies on its probe path (home .. next, cyclically).
+            boolean movable = (next > hole) ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                index[hole] = index[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        index[hole] = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        index = new int[newCapacity];
+        int mask = newCapacity - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = mix(values[i]) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = i + 1;
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.cuisinefarming.util;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing map from primitive long keys to objects.
+ * Used for chunk-key (Chunk.getChunkKey) indexes on hot paths, where Long boxing and
+ * HashMap nodes would otherwise be allocated per lookup.
+ *
+ * Removal uses backward-shift deletion, so there are no tombstones and lookups stay short.
+ * Iterate with {@code for (int i = 0; i < capacity(); i++) if (isOccupied(i)) ...}.
+ * Not thread-safe.
+ */
+public class LongObjectMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int size = 0;
+
+    public LongObjectMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public boolean containsKey(long key) {
+        return findSlot(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                V old = (V) values[slot];
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size + 1 > keys.length - (keys.length >> 2)) {
+            rehash(keys.length << 1);
+            return put(key, value);
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = findSlot(key);
+        if (slot < 0) return null;
+        V old = (V) values[slot];
+        shiftDelete(slot);
+        size--;
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // --- Iteration ---
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public boolean isOccupied(int slot) {
+        return used[slot];
+    }
+
+    public long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    // --- Internals ---
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftDelete(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (used[next]) {
+            int home = mix(keys[next]) & mask;
+            // Move the entry back if the hole lies on its probe path (home .. next, cyclically).
+            boolean movable = (next > hole) ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[hole] = false;
+        values[hole] = null;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (!oldUsed[i]) continue;
+            int slot = mix(oldKeys[i]) & mask;
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        used = new boolean[capacity];
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}